@@ -0,0 +1,36 @@
+package com.ecore.roles.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+
+import java.util.List;
+
+/**
+ * Reads upstream JSON bodies with a prebuilt {@link ObjectReader} instead of the per-call converter
+ * lookup and reader construction of {@code RestTemplate.exchange}.
+ */
+final class JsonResponses {
+
+    static final RequestCallback ACCEPT_JSON =
+            request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+
+    private JsonResponses() {}
+
+    static <T> ResponseExtractor<ResponseEntity<T>> reading(ObjectReader reader) {
+        return response -> {
+            T body = null;
+            try (JsonParser parser = reader.createParser(response.getBody())) {
+                if (parser.nextToken() != null) {
+                    body = reader.readValue(parser);
+                }
+            }
+            return ResponseEntity.status(response.getRawStatusCode())
+                    .headers(response.getHeaders())
+                    .body(body);
+        };
+    }
+}
@@ -2,8 +2,10 @@ package com.ecore.roles.client;
 
 import com.ecore.roles.client.model.Team;
 import com.ecore.roles.configuration.ClientsConfigurationProperties;
-import lombok.RequiredArgsConstructor;
-import org.springframework.core.ParameterizedTypeReference;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -12,26 +14,38 @@ import org.springframework.web.client.RestTemplate;
 import java.util.List;
 import java.util.UUID;
 
-@RequiredArgsConstructor
 @Component
 public class TeamsClient {
 
     private final RestTemplate restTemplate;
     private final ClientsConfigurationProperties clientsConfigurationProperties;
+    private final ObjectReader teamReader;
+    private final ObjectReader teamsReader;
+
+    @Autowired
+    public TeamsClient(
+            RestTemplate restTemplate,
+            ClientsConfigurationProperties clientsConfigurationProperties,
+            ObjectMapper objectMapper) {
+        this.restTemplate = restTemplate;
+        this.clientsConfigurationProperties = clientsConfigurationProperties;
+        this.teamReader = objectMapper.readerFor(Team.class);
+        this.teamsReader = objectMapper.readerFor(new TypeReference<List<Team>>() {});
+    }
 
     public ResponseEntity<Team> getTeam(UUID id) {
-        return restTemplate.exchange(
+        return restTemplate.execute(
                 clientsConfigurationProperties.getTeamsApiHost() + "/" + id,
                 HttpMethod.GET,
-                null,
-                Team.class);
+                JsonResponses.ACCEPT_JSON,
+                JsonResponses.reading(teamReader));
     }
 
     public ResponseEntity<List<Team>> getTeams() {
-        return restTemplate.exchange(
+        return restTemplate.execute(
                 clientsConfigurationProperties.getTeamsApiHost(),
                 HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<>() {});
+                JsonResponses.ACCEPT_JSON,
+                JsonResponses.reading(teamsReader));
     }
 }
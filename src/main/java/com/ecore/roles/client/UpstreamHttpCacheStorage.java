@@ -0,0 +1,109 @@
+package com.ecore.roles.client;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.client.model.User;
+import com.ecore.roles.configuration.ClientsConfigurationProperties;
+import com.ecore.roles.service.event.ResourceChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.http.client.cache.HttpCacheEntry;
+import org.apache.http.client.cache.HttpCacheStorage;
+import org.apache.http.client.cache.HttpCacheUpdateCallback;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the HTTP cache entries of the upstream client, so that a change reported by upstream evicts
+ * the responses of the changed resources. Without this, a reload triggered by the change would be
+ * answered from a response that is still fresh under its {@code max-age}.
+ */
+@Component
+public class UpstreamHttpCacheStorage implements HttpCacheStorage {
+
+    private final ClientsConfigurationProperties properties;
+    private final Cache<String, HttpCacheEntry> entries;
+
+    @Autowired
+    public UpstreamHttpCacheStorage(ClientsConfigurationProperties properties) {
+        this.properties = properties;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.getCache().getMaxEntries())
+                .build();
+    }
+
+    @Override
+    public void putEntry(String key, HttpCacheEntry entry) {
+        entries.put(key, entry);
+    }
+
+    @Override
+    public HttpCacheEntry getEntry(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    @Override
+    public void removeEntry(String key) {
+        entries.invalidate(key);
+    }
+
+    @Override
+    public void updateEntry(String key, HttpCacheUpdateCallback callback) throws IOException {
+        try {
+            entries.asMap().compute(key, (k, existing) -> {
+                try {
+                    return callback.update(existing);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Evicts the changed resources and their listing before any other listener reloads them.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener
+    public void onResourceChanged(ResourceChangedEvent event) {
+        String apiHost;
+        if (event.getResource() == Team.class) {
+            apiHost = properties.getTeamsApiHost();
+        } else if (event.getResource() == User.class) {
+            apiHost = properties.getUsersApiHost();
+        } else {
+            return;
+        }
+        String listPath = URI.create(apiHost).getPath();
+        Predicate<String> changed;
+        if (event.affectsAll()) {
+            changed = path -> path.equals(listPath) || path.startsWith(listPath + "/");
+        } else {
+            Set<String> paths = event.getIds().stream()
+                    .map(id -> listPath + "/" + id)
+                    .collect(Collectors.toSet());
+            changed = path -> path.equals(listPath) || paths.contains(path);
+        }
+        entries.asMap().keySet().removeIf(key -> changed.test(pathOf(key)));
+    }
+
+    /**
+     * Keys are the canonical request URI, prefixed with the varying request headers in braces for
+     * entries stored per variant.
+     */
+    private static String pathOf(String key) {
+        String uri = key.startsWith("{") ? key.substring(key.indexOf('}') + 1) : key;
+        return URI.create(uri).getPath();
+    }
+}
@@ -2,8 +2,10 @@ package com.ecore.roles.client;
 
 import com.ecore.roles.client.model.User;
 import com.ecore.roles.configuration.ClientsConfigurationProperties;
-import lombok.RequiredArgsConstructor;
-import org.springframework.core.ParameterizedTypeReference;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -12,26 +14,38 @@ import org.springframework.web.client.RestTemplate;
 import java.util.List;
 import java.util.UUID;
 
-@RequiredArgsConstructor
 @Component
 public class UsersClient {
 
     private final RestTemplate restTemplate;
     private final ClientsConfigurationProperties clientsConfigurationProperties;
+    private final ObjectReader userReader;
+    private final ObjectReader usersReader;
+
+    @Autowired
+    public UsersClient(
+            RestTemplate restTemplate,
+            ClientsConfigurationProperties clientsConfigurationProperties,
+            ObjectMapper objectMapper) {
+        this.restTemplate = restTemplate;
+        this.clientsConfigurationProperties = clientsConfigurationProperties;
+        this.userReader = objectMapper.readerFor(User.class);
+        this.usersReader = objectMapper.readerFor(new TypeReference<List<User>>() {});
+    }
 
     public ResponseEntity<User> getUser(UUID id) {
-        return restTemplate.exchange(
+        return restTemplate.execute(
                 clientsConfigurationProperties.getUsersApiHost() + "/" + id,
                 HttpMethod.GET,
-                null,
-                User.class);
+                JsonResponses.ACCEPT_JSON,
+                JsonResponses.reading(userReader));
     }
 
     public ResponseEntity<List<User>> getUsers() {
-        return restTemplate.exchange(
+        return restTemplate.execute(
                 clientsConfigurationProperties.getUsersApiHost(),
                 HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<>() {});
+                JsonResponses.ACCEPT_JSON,
+                JsonResponses.reading(usersReader));
     }
 }
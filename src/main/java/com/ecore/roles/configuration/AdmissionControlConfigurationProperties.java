@@ -0,0 +1,28 @@
+package com.ecore.roles.configuration;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "admission-control")
+public class AdmissionControlConfigurationProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Requests allowed in flight at once. Keep it below server.tomcat.threads.max so that excess load
+     * is rejected before the worker pool saturates.
+     */
+    private int maxConcurrentRequests = 150;
+
+    private Duration maxQueueWait = Duration.ofMillis(50);
+
+}
@@ -0,0 +1,27 @@
+package com.ecore.roles.configuration;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "batching")
+public class BatchingConfigurationProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long the first lookup of a batch waits for concurrent lookups to join it.
+     */
+    private Duration window = Duration.ofMillis(2);
+
+    private int maxBatchSize = 64;
+
+}
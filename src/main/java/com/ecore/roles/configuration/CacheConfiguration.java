@@ -0,0 +1,48 @@
+package com.ecore.roles.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class CacheConfiguration {
+
+    public static final String REFRESH_EXECUTOR = "cacheRefreshExecutor";
+
+    /**
+     * Bounded pool for refresh-ahead reloads. When the queue is full a reload is counted and rejected
+     * rather than run on the reading request's thread; the cache keeps serving the current value and
+     * tries again on a later read.
+     */
+    @Bean(name = REFRESH_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService cacheRefreshExecutor(
+            CacheConfigurationProperties properties,
+            MeterRegistry meterRegistry) {
+        Counter discarded = Counter.builder("roles.cache.refresh.discarded")
+                .description("Refresh-ahead reloads dropped because the refresh queue was full")
+                .register(meterRegistry);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                properties.getRefreshThreads(),
+                properties.getRefreshThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getRefreshQueueCapacity()),
+                new CustomizableThreadFactory("cache-refresh-"),
+                (task, pool) -> {
+                    discarded.increment();
+                    // Caffeine needs the rejection to clear the entry's refresh in progress.
+                    throw new RejectedExecutionException("Cache refresh queue is full");
+                });
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "cache.refresh", List.of());
+    }
+}
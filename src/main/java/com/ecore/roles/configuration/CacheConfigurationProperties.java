@@ -0,0 +1,52 @@
+package com.ecore.roles.configuration;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "cache")
+public class CacheConfigurationProperties {
+
+    private Spec teams = new Spec();
+
+    private Spec users = new Spec();
+
+    private int refreshThreads = 2;
+
+    private int refreshQueueCapacity = 100;
+
+    @NoArgsConstructor
+    @Getter
+    @Setter
+    public static class Spec {
+
+        /**
+         * How long an entry may be served; zero disables the cache.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /**
+         * Window before expiry in which a read triggers an asynchronous reload, serving the current value
+         * until the reload completes.
+         */
+        private Duration refreshAhead = Duration.ofMinutes(1);
+
+        private long maxSize = 10_000;
+
+        public boolean isEnabled() {
+            return !ttl.isZero();
+        }
+
+        public Duration getRefreshAfter() {
+            return ttl.minus(refreshAhead);
+        }
+    }
+}
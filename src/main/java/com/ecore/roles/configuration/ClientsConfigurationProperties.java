@@ -5,6 +5,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 
 @NoArgsConstructor
 @Getter
@@ -17,4 +20,43 @@ public class ClientsConfigurationProperties {
 
     private String teamsApiHost;
 
+    /**
+     * Connections shared by the Teams and Users APIs. Kept above {@code hydration.threads} plus
+     * {@code cache.refresh-threads}, so that fan-out is not throttled by the pool.
+     */
+    private int maxConnectionsPerRoute = 32;
+
+    private int maxConnections = 64;
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Longest wait for data on an open connection.
+     */
+    private Duration readTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Longest wait for a pooled connection.
+     */
+    private Duration connectionRequestTimeout = Duration.ofMillis(500);
+
+    private Cache cache = new Cache();
+
+    @NoArgsConstructor
+    @Getter
+    @Setter
+    public static class Cache {
+
+        private boolean enabled = true;
+
+        private int maxEntries = 1000;
+
+        private DataSize maxObjectSize = DataSize.ofKilobytes(256);
+
+        /**
+         * Threads revalidating entries served under {@code stale-while-revalidate}.
+         */
+        private int revalidationThreads = 2;
+
+    }
 }
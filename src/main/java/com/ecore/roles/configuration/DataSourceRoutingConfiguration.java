@@ -0,0 +1,61 @@
+package com.ecore.roles.configuration;
+
+import com.ecore.roles.repository.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfiguration {
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            DataSourceProperties dataSourceProperties,
+            ReplicaConfigurationProperties replicaProperties,
+            Environment environment,
+            MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        configurePool(primary, "spring.datasource.hikari", "roles-primary", environment, meterRegistry);
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaProperties.getUrl())
+                .username(replicaProperties.getUsername())
+                .password(replicaProperties.getPassword())
+                .build();
+        configurePool(replica, "datasource.replica.hikari", "roles-replica", environment, meterRegistry);
+
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primary,
+                replica,
+                meterRegistry));
+    }
+
+    private static void configurePool(
+            HikariDataSource pool,
+            String prefix,
+            String defaultPoolName,
+            Environment environment,
+            MeterRegistry meterRegistry) {
+        Binder.get(environment).bind(prefix, Bindable.ofInstance(pool));
+        if (pool.getPoolName() == null) {
+            pool.setPoolName(defaultPoolName);
+        }
+        pool.setMetricRegistry(meterRegistry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecore.roles.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class DirectoryConfiguration {
+
+    public static final String REFRESH_EXECUTOR = "directoryRefreshExecutor";
+
+    /**
+     * Runs directory reloads requested by upstream changes, one at a time. Each snapshot queues at most
+     * one reload, so the queue stays short without a bound.
+     */
+    @Bean(name = REFRESH_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService directoryRefreshExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                1,
+                1,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("directory-refresh-"));
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "directory.refresh", List.of());
+    }
+}
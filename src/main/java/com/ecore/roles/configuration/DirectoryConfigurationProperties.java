@@ -0,0 +1,27 @@
+package com.ecore.roles.configuration;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "directory")
+public class DirectoryConfigurationProperties {
+
+    /**
+     * Delay between reloads of the upstream users and teams snapshots, once they have been loaded.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    private int defaultPageSize = 20;
+
+    private int maxPageSize = 100;
+
+}
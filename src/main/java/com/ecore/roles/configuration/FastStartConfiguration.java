@@ -0,0 +1,36 @@
+package com.ecore.roles.configuration;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+@Configuration
+public class FastStartConfiguration {
+
+    /**
+     * Keeps schema migration and the entity manager factory eager under lazy initialisation, so that an
+     * instance reporting ready can serve database requests without a first-request bootstrap.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter databaseLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                FlywayMigrationInitializer.class,
+                AbstractEntityManagerFactoryBean.class);
+    }
+
+    /**
+     * Training runs that record the classes loaded during startup, e.g. for an AppCDS archive, stop the
+     * application as soon as it is ready.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "startup", name = "exit-on-ready", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> exitOnReady() {
+        return event -> System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
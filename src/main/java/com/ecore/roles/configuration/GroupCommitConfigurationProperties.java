@@ -0,0 +1,27 @@
+package com.ecore.roles.configuration;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "group-commit")
+public class GroupCommitConfigurationProperties {
+
+    /**
+     * Queues concurrent membership creations and inserts them in one transaction per shard.
+     */
+    private boolean enabled = false;
+
+    private Duration window = Duration.ofMillis(5);
+
+    private int maxBatchSize = 100;
+
+}
@@ -0,0 +1,33 @@
+package com.ecore.roles.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class HydrationConfiguration {
+
+    public static final String HYDRATION_EXECUTOR = "hydrationExecutor";
+
+    @Bean(name = HYDRATION_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService hydrationExecutor(
+            HydrationConfigurationProperties properties,
+            MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                properties.getThreads(),
+                properties.getThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("hydration-"));
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "hydration", List.of());
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecore.roles.configuration;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "hydration")
+public class HydrationConfigurationProperties {
+
+    /**
+     * Upper bound on concurrent upstream calls made while expanding responses, across all requests.
+     */
+    private int threads = 16;
+
+    /**
+     * Fetches waiting for a thread. Once it is full, further members are returned without user details.
+     */
+    private int queueCapacity = 1000;
+
+    private Duration deadline = Duration.ofSeconds(2);
+
+}
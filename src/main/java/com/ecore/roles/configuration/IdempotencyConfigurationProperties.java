@@ -0,0 +1,43 @@
+package com.ecore.roles.configuration;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyConfigurationProperties {
+
+    private boolean enabled = true;
+
+    private String header = "Idempotency-Key";
+
+    private int maxKeyLength = 255;
+
+    /**
+     * Whether the remote address identifies the client, as it does for direct connections and behind
+     * proxies listed in {@code server.tomcat.remoteip.internal-proxies}. When it does not, keys are
+     * scoped to the request body instead.
+     */
+    private boolean scopeToClientAddress = true;
+
+    /**
+     * How long the first response to a key is replayed to retries.
+     */
+    private Duration ttl = Duration.ofHours(1);
+
+    private long maxKeys = 100_000;
+
+    /**
+     * How long a duplicate waits for the original request before it is rejected as a conflict.
+     */
+    private Duration maxWait = Duration.ofSeconds(10);
+
+}
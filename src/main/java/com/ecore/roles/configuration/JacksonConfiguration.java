@@ -0,0 +1,35 @@
+package com.ecore.roles.configuration;
+
+import com.ecore.roles.util.json.UuidModule;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+
+/**
+ * Tunes every {@code ObjectMapper} Spring Boot builds, including the Smile and CBOR converters and
+ * the upstream clients.
+ */
+@Configuration
+public class JacksonConfiguration {
+
+    @Bean
+    public Module uuidModule() {
+        return new UuidModule();
+    }
+
+    /**
+     * Replaces reflective property access with generated lambdas. A native image cannot define classes
+     * at run time, so it keeps reflection.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer blackbirdCustomizer() {
+        return builder -> builder.postConfigurer(objectMapper -> {
+            if (!NativeDetector.inNativeImage()) {
+                objectMapper.registerModule(new BlackbirdModule());
+            }
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecore.roles.configuration;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "membership-filter")
+public class MembershipFilterConfigurationProperties {
+
+    /**
+     * Only safe on a single instance. Memberships created on another instance reach this filter with
+     * the next sync, and until then lookups for them are answered as not found.
+     */
+    private boolean enabled = false;
+
+    private long expectedMemberships = 1_000_000;
+
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Cap on the filter's bit array. Below the size needed for the configured rate, the rate degrades.
+     */
+    private DataSize maxMemory = DataSize.ofMegabytes(4);
+
+    /**
+     * How often memberships created by other instances are added to the filter.
+     */
+    private Duration syncInterval = Duration.ofSeconds(2);
+
+    /**
+     * How far back each sync looks, to cover clock skew and transactions committed after their insert
+     * time.
+     */
+    private Duration syncOverlap = Duration.ofSeconds(30);
+
+}
@@ -0,0 +1,27 @@
+package com.ecore.roles.configuration;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class MessageConvertersConfiguration {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder jacksonObjectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                jacksonObjectMapperBuilder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder jacksonObjectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(
+                jacksonObjectMapperBuilder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecore.roles.configuration;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitConfigurationProperties {
+
+    private boolean enabled = true;
+
+    private String apiKeyHeader = "X-API-Key";
+
+    private Budget read = new Budget(200, 100);
+
+    private Budget write = new Budget(40, 20);
+
+    private long maxClients = 100_000;
+
+    private Duration idleClientExpiry = Duration.ofMinutes(10);
+
+    @NoArgsConstructor
+    @Getter
+    @Setter
+    public static class Budget {
+
+        private long capacity;
+
+        private double refillPerSecond;
+
+        public Budget(long capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+}
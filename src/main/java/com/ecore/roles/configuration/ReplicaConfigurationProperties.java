@@ -0,0 +1,33 @@
+package com.ecore.roles.configuration;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "datasource.replica")
+public class ReplicaConfigurationProperties {
+
+    private boolean enabled;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * How long a client's read-only transactions keep going to the primary after it committed a write,
+     * so that it reads its own writes while the replica catches up. The deadline is returned in the
+     * {@code X-Read-Primary-Until} response header and honoured on requests that send it back.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+
+}
@@ -0,0 +1,33 @@
+package com.ecore.roles.configuration;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "response-cache")
+public class ResponseCacheConfigurationProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on how long a cached body is served. Bodies of local data are also evicted as soon as
+     * the data changes; bodies of upstream data rely on this bound or on upstream change notifications.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    private DataSize maxSize = DataSize.ofMegabytes(32);
+
+    private boolean precompress = true;
+
+    private DataSize precompressMinSize = DataSize.ofKilobytes(2);
+
+}
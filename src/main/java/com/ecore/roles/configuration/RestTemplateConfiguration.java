@@ -1,14 +1,88 @@
 package com.ecore.roles.configuration;
 
+import org.apache.http.client.cache.HttpCacheStorage;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.client.cache.CacheConfig;
+import org.apache.http.impl.client.cache.CachingHttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfiguration {
+
+    /**
+     * Pooled client for the upstream APIs, closed with the context.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient upstreamHttpClient(
+            ClientsConfigurationProperties properties,
+            HttpCacheStorage upstreamHttpCacheStorage) {
+        HttpClientBuilder builder = properties.getCache().isEnabled()
+                ? cachingHttpClient(properties.getCache(), upstreamHttpCacheStorage)
+                : HttpClients.custom();
+        return builder
+                .useSystemProperties()
+                .setConnectionManager(connectionManager(properties))
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                        .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                        .setConnectionRequestTimeout(
+                                (int) properties.getConnectionRequestTimeout().toMillis())
+                        .build())
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder.build();
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient upstreamHttpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(upstreamHttpClient))
+                .build();
+    }
+
+    /**
+     * Stores upstream responses with their validators, revalidating with
+     * If-None-Match/If-Modified-Since and honouring max-age and stale-while-revalidate. Entries live in
+     * the given storage, which bounds their number.
+     */
+    private static HttpClientBuilder cachingHttpClient(
+            ClientsConfigurationProperties.Cache cache,
+            HttpCacheStorage storage) {
+        CacheConfig cacheConfig = CacheConfig.custom()
+                .setSharedCache(false)
+                .setMaxCacheEntries(cache.getMaxEntries())
+                .setMaxObjectSize(cache.getMaxObjectSize().toBytes())
+                .setAsynchronousWorkersCore(1)
+                .setAsynchronousWorkersMax(cache.getRevalidationThreads())
+                .build();
+        return CachingHttpClients.custom()
+                .setCacheConfig(cacheConfig)
+                .setHttpCacheStorage(storage);
+    }
+
+    /**
+     * HttpClient ignores pool limits set on its builder when it reads system properties, so the pool is
+     * built here, still using the system TLS settings.
+     */
+    private static PoolingHttpClientConnectionManager connectionManager(
+            ClientsConfigurationProperties properties) {
+        PoolingHttpClientConnectionManager connections = new PoolingHttpClientConnectionManager(
+                RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                        .register("https", SSLConnectionSocketFactory.getSystemSocketFactory())
+                        .build());
+        connections.setMaxTotal(properties.getMaxConnections());
+        connections.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+        return connections;
     }
 }
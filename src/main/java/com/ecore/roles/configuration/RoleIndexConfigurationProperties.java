@@ -0,0 +1,38 @@
+package com.ecore.roles.configuration;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "role-index")
+public class RoleIndexConfigurationProperties {
+
+    /**
+     * Resolves (team, user) role lookups from a memory-mapped hash table before going to the database.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Table file. Reused across restarts, so it should live on a local, persistent volume.
+     */
+    private Path path = Path.of(System.getProperty("java.io.tmpdir"), "roles-api", "role-index.bin");
+
+    /**
+     * Slots allocated for a new table, rounded up to a power of two. The table doubles when 75% full.
+     */
+    private int initialCapacity = 1 << 20;
+
+    /**
+     * Roles the table can reference. Changing it discards an existing file.
+     */
+    private int maxRoles = 4096;
+
+}
@@ -0,0 +1,20 @@
+package com.ecore.roles.configuration;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "search")
+public class SearchConfigurationProperties {
+
+    private int defaultLimit = 10;
+
+    private int maxLimit = 50;
+
+}
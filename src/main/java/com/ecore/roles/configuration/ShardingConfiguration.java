@@ -0,0 +1,78 @@
+package com.ecore.roles.configuration;
+
+import com.ecore.roles.repository.routing.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfiguration implements DisposableBean {
+
+    private final List<HikariDataSource> shards = new ArrayList<>();
+
+    public ShardingConfiguration(
+            ShardingConfigurationProperties shardingProperties,
+            ReplicaConfigurationProperties replicaProperties,
+            Environment environment,
+            MeterRegistry meterRegistry) {
+        if (replicaProperties.isEnabled()) {
+            throw new IllegalStateException(
+                    "datasource.sharding and datasource.replica cannot be enabled together");
+        }
+        if (shardingProperties.getShards().isEmpty()) {
+            throw new IllegalStateException("datasource.sharding.shards must list at least one shard");
+        }
+        for (ShardingConfigurationProperties.Shard shard : shardingProperties.getShards()) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            Binder.get(environment).bind("datasource.sharding.hikari", Bindable.ofInstance(pool));
+            pool.setPoolName("roles-shard-" + shards.size());
+            pool.setMetricRegistry(meterRegistry);
+            shards.add(pool);
+        }
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shards));
+    }
+
+    @Bean
+    public FlywayMigrationStrategy shardedFlywayMigrationStrategy() {
+        return flyway -> {
+            for (HikariDataSource shard : shards) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(shard)
+                        .load()
+                        .migrate();
+            }
+        };
+    }
+
+    @Override
+    public void destroy() {
+        shards.forEach(HikariDataSource::close);
+    }
+}
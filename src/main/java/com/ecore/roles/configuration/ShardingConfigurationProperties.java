@@ -0,0 +1,42 @@
+package com.ecore.roles.configuration;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "datasource.sharding")
+public class ShardingConfigurationProperties {
+
+    private boolean enabled;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    private int scatterThreads = 8;
+
+    public int getShardCount() {
+        return enabled ? Math.max(1, shards.size()) : 1;
+    }
+
+    @NoArgsConstructor
+    @Getter
+    @Setter
+    public static class Shard {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+    }
+
+}
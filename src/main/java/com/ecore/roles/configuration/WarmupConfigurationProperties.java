@@ -0,0 +1,35 @@
+package com.ecore.roles.configuration;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupConfigurationProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Time after which the instance reports ready even if warm-up has not finished.
+     */
+    private Duration budget = Duration.ofSeconds(20);
+
+    /**
+     * Memberships sampled per role to run representative queries and prime upstream teams and users.
+     */
+    private int sampleSize = 50;
+
+    /**
+     * Upper bound on distinct teams and on distinct users fetched to prime the upstream caches.
+     */
+    private int primeLimit = 500;
+
+}
@@ -0,0 +1,87 @@
+package com.ecore.roles.configuration;
+
+import com.ecore.roles.web.filter.AdmissionControlFilter;
+import com.ecore.roles.web.filter.IdempotencyFilter;
+import com.ecore.roles.web.filter.IdempotencyStore;
+import com.ecore.roles.web.filter.RateLimitFilter;
+import com.ecore.roles.web.filter.ReadYourWritesFilter;
+import com.ecore.roles.web.filter.ResponseBodyCache;
+import com.ecore.roles.web.filter.ResponseBodyCacheFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class WebFilterConfiguration {
+
+    private static final String API_PATTERN = "/v1/*";
+
+    @Bean
+    @ConditionalOnProperty(prefix = "admission-control", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            AdmissionControlConfigurationProperties properties,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(properties, objectMapper, meterRegistry));
+        registration.addUrlPatterns(API_PATTERN);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "rate-limit", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            RateLimitConfigurationProperties properties,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(properties, objectMapper, meterRegistry));
+        registration.addUrlPatterns(API_PATTERN);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "idempotency", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyConfigurationProperties properties,
+            IdempotencyStore store,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(properties, store, objectMapper, meterRegistry));
+        registration.addUrlPatterns(API_PATTERN);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 25);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "response-cache", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public FilterRegistrationBean<ResponseBodyCacheFilter> responseBodyCacheFilter(ResponseBodyCache cache) {
+        FilterRegistrationBean<ResponseBodyCacheFilter> registration = new FilterRegistrationBean<>(
+                new ResponseBodyCacheFilter(cache));
+        registration.addUrlPatterns(API_PATTERN);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "datasource.replica", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            ReplicaConfigurationProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(properties.getReadYourWritesWindow()));
+        registration.addUrlPatterns(API_PATTERN);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 40);
+        return registration;
+    }
+}
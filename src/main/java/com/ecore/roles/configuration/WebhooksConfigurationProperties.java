@@ -0,0 +1,23 @@
+package com.ecore.roles.configuration;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "webhooks")
+public class WebhooksConfigurationProperties {
+
+    private String tokenHeader = "X-Webhook-Token";
+
+    /**
+     * Shared secret expected from callers; when unset every webhook call is rejected.
+     */
+    private String token;
+
+}
@@ -0,0 +1,40 @@
+package com.ecore.roles.exception;
+
+/**
+ * Base of the exceptions for outcomes that ordinary traffic produces, such as a missing or
+ * duplicate resource. They skip stack-trace capture and build their message on first use.
+ */
+public abstract class ExpectedOutcomeException extends RuntimeException {
+
+    private final Class<?> resource;
+    private String message;
+
+    protected ExpectedOutcomeException(Class<?> resource) {
+        super(null, null, false, false);
+        this.resource = resource;
+    }
+
+    public Class<?> getResource() {
+        return resource;
+    }
+
+    @Override
+    public String getMessage() {
+        String built = message;
+        if (built == null) {
+            built = buildMessage(resource.getSimpleName());
+            message = built;
+        }
+        return built;
+    }
+
+    /**
+     * Whether the message depends only on the exception type and resource, so that the error body
+     * rendered for it can be reused.
+     */
+    public boolean hasFixedMessage() {
+        return false;
+    }
+
+    protected abstract String buildMessage(String resourceName);
+}
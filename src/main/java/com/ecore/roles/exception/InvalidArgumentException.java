@@ -1,14 +1,26 @@
 package com.ecore.roles.exception;
 
-import static java.lang.String.format;
+public class InvalidArgumentException extends ExpectedOutcomeException {
 
-public class InvalidArgumentException extends RuntimeException {
+    private final String detail;
 
     public <T> InvalidArgumentException(Class<T> resource) {
-        super(format("Invalid '%s' object", resource.getSimpleName()));
+        this(resource, null);
     }
 
     public <T> InvalidArgumentException(Class<T> resource, String message) {
-        super(format("Invalid '%s' object. %s", resource.getSimpleName(), message));
+        super(resource);
+        this.detail = message;
+    }
+
+    @Override
+    public boolean hasFixedMessage() {
+        return detail == null;
+    }
+
+    @Override
+    protected String buildMessage(String resourceName) {
+        String message = "Invalid '" + resourceName + "' object";
+        return detail == null ? message : message + ". " + detail;
     }
 }
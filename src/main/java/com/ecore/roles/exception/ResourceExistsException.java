@@ -1,10 +1,18 @@
 package com.ecore.roles.exception;
 
-import static java.lang.String.format;
-
-public class ResourceExistsException extends RuntimeException {
+public class ResourceExistsException extends ExpectedOutcomeException {
 
     public <T> ResourceExistsException(Class<T> resource) {
-        super(format("%s already exists", resource.getSimpleName()));
+        super(resource);
+    }
+
+    @Override
+    public boolean hasFixedMessage() {
+        return true;
+    }
+
+    @Override
+    protected String buildMessage(String resourceName) {
+        return resourceName + " already exists";
     }
 }
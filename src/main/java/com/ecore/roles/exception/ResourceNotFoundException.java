@@ -1,16 +1,37 @@
 package com.ecore.roles.exception;
 
 import java.util.UUID;
+import java.util.function.Supplier;
 
-import static java.lang.String.format;
+public class ResourceNotFoundException extends ExpectedOutcomeException {
 
-public class ResourceNotFoundException extends RuntimeException {
+    private final UUID id;
+    private final Supplier<String> detail;
 
     public <T> ResourceNotFoundException(Class<T> resource, UUID id) {
-        super(format("%s %s not found", resource.getSimpleName(), id));
+        super(resource);
+        this.id = id;
+        this.detail = null;
     }
 
     public <T> ResourceNotFoundException(Class<T> resource, String message) {
-        super(format("Resource %s not found. %s", resource.getSimpleName(), message));
+        this(resource, () -> message);
+    }
+
+    /**
+     * Defers building the detail until the message is read.
+     */
+    public <T> ResourceNotFoundException(Class<T> resource, Supplier<String> message) {
+        super(resource);
+        this.id = null;
+        this.detail = message;
+    }
+
+    @Override
+    protected String buildMessage(String resourceName) {
+        if (detail == null) {
+            return resourceName + " " + id + " not found";
+        }
+        return "Resource " + resourceName + " not found. " + detail.get();
     }
 }
@@ -0,0 +1,12 @@
+package com.ecore.roles.exception;
+
+import java.util.UUID;
+
+import static java.lang.String.format;
+
+public class UpstreamTimeoutException extends RuntimeException {
+
+    public <T> UpstreamTimeoutException(Class<T> resource, UUID id) {
+        super(format("Timed out fetching details of %s %s", resource.getSimpleName(), id));
+    }
+}
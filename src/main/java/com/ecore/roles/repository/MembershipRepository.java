@@ -1,17 +1,62 @@
 package com.ecore.roles.repository;
 
 import com.ecore.roles.service.model.Membership;
+import com.ecore.roles.service.model.MembershipKeyView;
+import com.ecore.roles.service.model.MembershipView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
+
 @Repository
 public interface MembershipRepository extends JpaRepository<Membership, UUID> {
 
     Optional<Membership> findByUserIdAndTeamId(UUID userId, UUID teamId);
 
-    List<Membership> findByRoleId(UUID roleId);
+    /**
+     * Returns every membership whose team and user are among the given ones, a superset of the
+     * requested (team, user) pairs that callers narrow down.
+     */
+    @Query("select m from Membership m join fetch m.role where m.teamId in :teamIds and m.userId in :userIds")
+    List<Membership> findByTeamIdInAndUserIdIn(
+            @Param("teamIds") Collection<UUID> teamIds,
+            @Param("userIds") Collection<UUID> userIds);
+
+    @Query("select m.id as id, m.role.id as roleId, m.userId as userId, m.teamId as teamId "
+            + "from Membership m where m.role.id = :roleId")
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    List<MembershipView> findByRoleId(@Param("roleId") UUID roleId);
+
+    @Query("select m.id as id, m.role.id as roleId, m.userId as userId, m.teamId as teamId "
+            + "from Membership m where m.role.id = :roleId")
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    List<MembershipView> findByRoleId(@Param("roleId") UUID roleId, Pageable pageable);
+
+    @Query("select m.id as id, m.teamId as teamId, m.userId as userId, m.role.id as roleId, "
+            + "m.createdAt as createdAt "
+            + "from Membership m where m.id > :after order by m.id")
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    List<MembershipKeyView> findKeysAfter(@Param("after") UUID after, Pageable pageable);
+
+    @Query("select m.id as id, m.teamId as teamId, m.userId as userId, m.role.id as roleId, "
+            + "m.createdAt as createdAt "
+            + "from Membership m where m.createdAt >= :since")
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    List<MembershipKeyView> findKeysCreatedSince(@Param("since") Instant since);
+
+    @Query("select m.id as id, m.role.id as roleId, m.userId as userId, m.teamId as teamId "
+            + "from Membership m where m.teamId = :teamId")
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    List<MembershipView> findByTeamId(@Param("teamId") UUID teamId);
 }
@@ -2,7 +2,11 @@ package com.ecore.roles.repository;
 
 import com.ecore.roles.service.model.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -10,4 +14,15 @@ import java.util.UUID;
 @Repository
 public interface RoleRepository extends JpaRepository<Role, UUID> {
     Optional<Role> findByName(String name);
+
+    @Modifying
+    @Transactional
+    @Query(value = "insert into role (id, name) select :id, :name "
+            + "where not exists (select 1 from role where id = :id)", nativeQuery = true)
+    void insertCopy(@Param("id") String id, @Param("name") String name);
+
+    @Modifying
+    @Transactional
+    @Query(value = "delete from role where id = :id", nativeQuery = true)
+    void deleteCopy(@Param("id") String id);
 }
@@ -0,0 +1,170 @@
+package com.ecore.roles.repository.routing;
+
+import com.ecore.roles.configuration.ShardingConfigurationProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Partitions memberships by team id. Work that concerns a single team runs against the team's
+ * shard, role wide queries are scattered over every shard in parallel and merged. With sharding
+ * disabled there is a single shard and everything runs inline on the caller's thread.
+ */
+@Component
+public class MembershipShardRouter implements DisposableBean {
+
+    private final int shardCount;
+    private final ExecutorService scatterExecutor;
+
+    public MembershipShardRouter(ShardingConfigurationProperties properties) {
+        this.shardCount = properties.getShardCount();
+        this.scatterExecutor = shardCount > 1
+                ? Executors.newFixedThreadPool(properties.getScatterThreads(), scatterThreadFactory())
+                : null;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(UUID teamId) {
+        return Math.floorMod(teamId.hashCode(), shardCount);
+    }
+
+    public <T> T onShard(UUID teamId, Supplier<T> action) {
+        if (shardCount == 1) {
+            return action.get();
+        }
+        return onShard(shardOf(teamId), action);
+    }
+
+    /**
+     * Repeats a write on every shard but the default one, for data that must be visible on all shards
+     * such as the role catalogue referenced by the memberships.
+     */
+    public void onOtherShards(Runnable action) {
+        for (int shard = 1; shard < shardCount; shard++) {
+            onShard(shard, () -> {
+                action.run();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Runs the action on each shard in turn, passing the shard index.
+     */
+    public void forEachShard(IntConsumer action) {
+        if (shardCount == 1) {
+            action.accept(0);
+            return;
+        }
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            onShard(target, () -> {
+                action.accept(target);
+                return null;
+            });
+        }
+    }
+
+    public <T> List<T> scatterGather(Supplier<List<T>> query, Comparator<? super T> order) {
+        List<T> merged = gather(query);
+        merged.sort(order);
+        return merged;
+    }
+
+    /**
+     * Returns the requested page of the results ordered by {@code order}. With a single shard the page
+     * is passed straight to the query, so the database applies the offset. Otherwise every shard is
+     * queried in parallel for its first {@code (page + 1) * size} rows, which it is expected to return
+     * in {@code order}, and the page is cut from the merged results.
+     */
+    public <T> List<T> scatterGather(PageQuery<T> query, Comparator<? super T> order, int page, int size) {
+        if (shardCount == 1) {
+            return new ArrayList<>(query.fetch(page, size));
+        }
+        long offset = (long) page * size;
+        int rowsPerShard = (int) Math.min(Integer.MAX_VALUE, offset + size);
+        List<T> merged = gather(() -> query.fetch(0, rowsPerShard));
+        merged.sort(order);
+        if (offset >= merged.size()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(merged.subList((int) offset, (int) Math.min(merged.size(), offset + size)));
+    }
+
+    @Override
+    public void destroy() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdown();
+        }
+    }
+
+    private <T> List<T> gather(Supplier<List<T>> query) {
+        if (shardCount == 1) {
+            return new ArrayList<>(query.get());
+        }
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> onShard(target, query), scatterExecutor));
+        }
+        List<T> merged = new ArrayList<>();
+        for (CompletableFuture<List<T>> future : futures) {
+            merged.addAll(join(future));
+        }
+        return merged;
+    }
+
+    private static <T> T onShard(int shard, Supplier<T> action) {
+        Integer previous = ShardContextHolder.getShard();
+        ShardContextHolder.setShard(shard);
+        try {
+            return action.get();
+        } finally {
+            ShardContextHolder.setShard(previous);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static ThreadFactory scatterThreadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "membership-scatter-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A query for one page of results, in the order the caller merges them by.
+     */
+    @FunctionalInterface
+    public interface PageQuery<T> {
+
+        List<T> fetch(int page, int size);
+    }
+}
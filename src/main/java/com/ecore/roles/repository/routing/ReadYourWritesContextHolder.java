@@ -0,0 +1,74 @@
+package com.ecore.roles.repository.routing;
+
+import java.time.Duration;
+import java.util.function.LongConsumer;
+
+/**
+ * Holds the read-your-writes state of the client whose request runs on the current thread: until
+ * when its reads must go to the primary, and where to hand the new deadline after it commits a
+ * write. Outside of a request there is no client to keep consistent, so nothing is held and reads
+ * use the replica.
+ * <p>
+ * The state belongs to the thread that serves the client. Work done for the client on another
+ * thread, such as a batched lookup or a group commit led by another request, does not see it, so
+ * callers of such work check {@link #isWithinWindow()} or call {@link #recordWrite()} themselves.
+ */
+public final class ReadYourWritesContextHolder {
+
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+
+    private ReadYourWritesContextHolder() {}
+
+    /**
+     * Starts tracking a client.
+     *
+     * @param primaryUntilMillis the deadline the client presented, in epoch milliseconds, or 0 for none
+     * @param window how long reads stay on the primary after a write; presented deadlines further out
+     *        are ignored
+     * @param onWrite receives the new deadline whenever the client commits a write
+     */
+    public static void open(long primaryUntilMillis, Duration window, LongConsumer onWrite) {
+        CURRENT.set(new Session(primaryUntilMillis, window.toMillis(), onWrite));
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Whether the current client's reads must go to the primary.
+     */
+    public static boolean isWithinWindow() {
+        Session session = CURRENT.get();
+        if (session == null) {
+            return false;
+        }
+        long remaining = session.primaryUntilMillis - System.currentTimeMillis();
+        return remaining > 0 && remaining <= session.windowMillis;
+    }
+
+    /**
+     * Records that the current client committed a write, keeping its reads on the primary for the
+     * window. Does nothing outside of a tracked request.
+     */
+    public static void recordWrite() {
+        Session session = CURRENT.get();
+        if (session != null) {
+            session.primaryUntilMillis = System.currentTimeMillis() + session.windowMillis;
+            session.onWrite.accept(session.primaryUntilMillis);
+        }
+    }
+
+    private static final class Session {
+
+        private final long windowMillis;
+        private final LongConsumer onWrite;
+        private long primaryUntilMillis;
+
+        private Session(long primaryUntilMillis, long windowMillis, LongConsumer onWrite) {
+            this.primaryUntilMillis = primaryUntilMillis;
+            this.windowMillis = windowMillis;
+            this.onWrite = onWrite;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ecore.roles.repository.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections requested by read-only transactions to the replica pool and everything else to
+ * the primary. Must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so that the
+ * transaction's read-only flag is known when the physical connection is fetched.
+ * <p>
+ * Read-your-writes is tracked per client through {@link ReadYourWritesContextHolder}: a client that
+ * committed a write keeps reading from the primary until its deadline passes, while everyone else
+ * stays on the replica.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            DataSource replica,
+            MeterRegistry meterRegistry) {
+        this.primaryRoutes = routesCounter(meterRegistry, Target.PRIMARY);
+        this.replicaRoutes = routesCounter(meterRegistry, Target.REPLICA);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReadYourWritesContextHolder.isWithinWindow()) {
+            replicaRoutes.increment();
+            return Target.REPLICA;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ReadYourWritesContextHolder.recordWrite();
+                }
+            });
+        }
+        primaryRoutes.increment();
+        return Target.PRIMARY;
+    }
+
+    private static Counter routesCounter(MeterRegistry meterRegistry, Target target) {
+        return Counter.builder("roles.datasource.routes")
+                .description("Connections handed out per datasource pool")
+                .tag("pool", target.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecore.roles.repository.routing;
+
+public final class ShardContextHolder {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContextHolder() {}
+
+    public static Integer getShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    static void setShard(Integer shard) {
+        if (shard == null) {
+            CURRENT_SHARD.remove();
+        } else {
+            CURRENT_SHARD.set(shard);
+        }
+    }
+}
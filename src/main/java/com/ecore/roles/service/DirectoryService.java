@@ -0,0 +1,18 @@
+package com.ecore.roles.service;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.client.model.User;
+import com.ecore.roles.service.directory.DirectoryIndex;
+import com.ecore.roles.service.model.DirectoryPage;
+import com.ecore.roles.service.model.DirectoryQuery;
+
+public interface DirectoryService {
+
+    DirectoryIndex<User> getUsers();
+
+    DirectoryIndex<Team> getTeams();
+
+    DirectoryPage<User> findUsers(DirectoryQuery query);
+
+    DirectoryPage<Team> findTeams(DirectoryQuery query);
+}
@@ -0,0 +1,19 @@
+package com.ecore.roles.service;
+
+import java.util.UUID;
+
+public interface MembershipFilterService {
+
+    /**
+     * {@code false} only when no membership exists for the pair. Always {@code true} while the filter
+     * is disabled or still being built.
+     */
+    boolean mightExist(UUID teamId, UUID userId);
+
+    void add(UUID teamId, UUID userId);
+
+    /**
+     * Records that a pair reported as possibly existing had no membership.
+     */
+    void recordMiss(UUID teamId, UUID userId);
+}
@@ -2,6 +2,7 @@ package com.ecore.roles.service;
 
 import com.ecore.roles.exception.ResourceNotFoundException;
 import com.ecore.roles.service.model.Membership;
+import com.ecore.roles.service.model.MembershipView;
 
 import java.util.List;
 import java.util.UUID;
@@ -12,5 +13,9 @@ public interface MembershipsService {
 
     Membership getMembership(UUID teamId, UUID userId);
 
-    List<Membership> getMemberships(UUID roleId);
+    List<MembershipView> getMemberships(UUID roleId);
+
+    List<MembershipView> getMemberships(UUID roleId, int page, int size);
+
+    List<MembershipView> getTeamMemberships(UUID teamId);
 }
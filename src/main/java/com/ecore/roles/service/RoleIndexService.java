@@ -0,0 +1,15 @@
+package com.ecore.roles.service;
+
+import com.ecore.roles.service.model.Role;
+
+import java.util.UUID;
+
+public interface RoleIndexService {
+
+    /**
+     * Role of the pair's membership, or {@code null} when the index does not know the pair.
+     */
+    Role findRole(UUID teamId, UUID userId);
+
+    void put(UUID teamId, UUID userId, Role role);
+}
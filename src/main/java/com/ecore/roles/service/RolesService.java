@@ -2,6 +2,7 @@ package com.ecore.roles.service;
 
 import com.ecore.roles.service.model.Role;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,4 +16,6 @@ public interface RolesService {
 
     List<Role> getRoles();
 
+    List<Role> getRoles(Collection<UUID> ids);
+
 }
@@ -0,0 +1,13 @@
+package com.ecore.roles.service;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.client.model.User;
+
+import java.util.List;
+
+public interface SearchService {
+
+    List<User> searchUsers(String query, int limit);
+
+    List<Team> searchTeams(String query, int limit);
+}
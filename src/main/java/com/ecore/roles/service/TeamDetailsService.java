@@ -0,0 +1,10 @@
+package com.ecore.roles.service;
+
+import com.ecore.roles.service.model.TeamDetails;
+
+import java.util.UUID;
+
+public interface TeamDetailsService {
+
+    TeamDetails getTeamDetails(UUID teamId, boolean expandMembers, boolean expandRoles);
+}
@@ -0,0 +1,17 @@
+package com.ecore.roles.service;
+
+import com.ecore.roles.client.model.Team;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface UserTeamsService {
+
+    List<Team> getTeams(UUID userId);
+
+    /**
+     * Whether the loaded teams snapshot lists the user in the team. {@code false} only means the
+     * snapshot cannot confirm it, as it may be stale or not loaded yet.
+     */
+    boolean isKnownMember(UUID userId, UUID teamId);
+}
@@ -0,0 +1,10 @@
+package com.ecore.roles.service;
+
+import com.ecore.roles.service.model.WarmupStatus;
+
+public interface WarmupService {
+
+    void warmUp();
+
+    WarmupStatus getStatus();
+}
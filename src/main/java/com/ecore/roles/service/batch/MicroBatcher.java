@@ -0,0 +1,131 @@
+package com.ecore.roles.service.batch;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent single-key lookups into one multi-key load. The first caller of a batch
+ * waits up to the window, until the batch is full, or until every caller currently inside
+ * {@link #load} has joined it, then runs the load on its own thread and hands every waiting caller
+ * its value. A caller without company therefore loads at once instead of waiting out the window.
+ * Keys the loader does not return resolve to {@code null}.
+ */
+public class MicroBatcher<K, V> {
+
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Function<Set<K>, Map<K, V>> loader;
+    private final DistributionSummary batchSizes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private Batch<K, V> open;
+    private int callers;
+
+    public MicroBatcher(
+            String name,
+            Duration window,
+            int maxBatchSize,
+            Function<Set<K>, Map<K, V>> loader,
+            MeterRegistry meterRegistry) {
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.loader = loader;
+        this.batchSizes = DistributionSummary.builder("roles.batch.size")
+                .tag("batcher", name)
+                .register(meterRegistry);
+    }
+
+    public V load(K key) {
+        Batch<K, V> batch;
+        CompletableFuture<V> result;
+        boolean leader = false;
+        lock.lock();
+        try {
+            callers++;
+            if (open == null) {
+                open = new Batch<>();
+                leader = true;
+            }
+            batch = open;
+            result = batch.futures.computeIfAbsent(key, k -> new CompletableFuture<>());
+            batch.callers++;
+            if (batch.futures.size() >= maxBatchSize || windowNanos <= 0) {
+                open = null;
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            if (leader) {
+                awaitClose(batch);
+                execute(batch);
+            }
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            lock.lock();
+            try {
+                callers--;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void awaitClose(Batch<K, V> batch) {
+        boolean interrupted = false;
+        lock.lock();
+        try {
+            long remaining = windowNanos;
+            while (open == batch && batch.callers < callers && remaining > 0) {
+                try {
+                    remaining = changed.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    break;
+                }
+            }
+            if (open == batch) {
+                open = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void execute(Batch<K, V> batch) {
+        batchSizes.record(batch.futures.size());
+        try {
+            Map<K, V> values = loader.apply(batch.futures.keySet());
+            batch.futures.forEach((key, future) -> future.complete(values.get(key)));
+        } catch (RuntimeException e) {
+            batch.futures.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private static class Batch<K, V> {
+
+        private final Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        private int callers;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecore.roles.service.directory;
+
+import com.ecore.roles.exception.InvalidArgumentException;
+import com.ecore.roles.service.model.DirectoryQuery;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after the last returned record, carrying its sort key so that pages stay stable when
+ * records are added or removed between requests.
+ */
+@AllArgsConstructor
+@Getter
+class DirectoryCursor {
+
+    private static final String SEPARATOR = "\n";
+
+    private final String sort;
+    private final boolean descending;
+    private final String key;
+    private final UUID id;
+
+    String encode() {
+        String raw = String.join(SEPARATOR, sort, descending ? "desc" : "asc", id.toString(), key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static DirectoryCursor decode(String cursor, String sort, boolean descending) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, 4);
+            if (parts.length == 4 && parts[0].equals(sort) && parts[1].equals(descending ? "desc" : "asc")) {
+                return new DirectoryCursor(sort, descending, parts[3], UUID.fromString(parts[2]));
+            }
+        } catch (IllegalArgumentException e) {
+            // reported below
+        }
+        throw new InvalidArgumentException(DirectoryQuery.class, "Cursor does not match the requested sort.");
+    }
+}
@@ -0,0 +1,95 @@
+package com.ecore.roles.service.directory;
+
+import com.ecore.roles.exception.InvalidArgumentException;
+import com.ecore.roles.service.model.DirectoryPage;
+import com.ecore.roles.service.model.DirectoryQuery;
+import com.ecore.roles.util.UuidObjectMap;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Immutable snapshot of an upstream collection with one pre-sorted view per supported sort field.
+ * Records are keyed by id in a primitive UUID map.
+ */
+public class DirectoryIndex<T> {
+
+    private final UuidObjectMap<T> byId;
+    private final Map<String, SortedView<T>> views = new LinkedHashMap<>();
+    private final String defaultSort;
+
+    public DirectoryIndex(
+            List<T> records,
+            Function<T, UUID> id,
+            Map<String, Function<T, String>> sortKeys,
+            String defaultSort) {
+        this.byId = new UuidObjectMap<>(records.size());
+        records.forEach(record -> byId.put(id.apply(record), record));
+        List<T> unique = List.copyOf(byId.values());
+        sortKeys.forEach((field, key) -> views.put(field, new SortedView<>(unique, key, id)));
+        this.defaultSort = defaultSort;
+    }
+
+    public T get(UUID id) {
+        return byId.get(id);
+    }
+
+    public UuidObjectMap<T> byId() {
+        return byId;
+    }
+
+    public List<T> all() {
+        return views.get(defaultSort).items();
+    }
+
+    public DirectoryPage<T> query(DirectoryQuery query, Predicate<T> filter) {
+        String sort = query.getSort() == null ? defaultSort : query.getSort();
+        SortedView<T> view = views.get(sort);
+        if (view == null) {
+            throw new InvalidArgumentException(DirectoryQuery.class,
+                    String.format("Unsupported sort '%s'. Supported: %s.", sort, views.keySet()));
+        }
+        DirectoryCursor after = query.getCursor() == null
+                ? null
+                : DirectoryCursor.decode(query.getCursor(), sort, query.isDescending());
+        int offset =
+                after == null ? (int) Math.min(Integer.MAX_VALUE, (long) query.getPage() * query.getSize())
+                        : 0;
+        SortedView.Slice<T> slice =
+                view.slice(sort, query.isDescending(), after, offset, query.getSize(), filter);
+        return new DirectoryPage<>(slice.items, slice.next == null ? null : slice.next.encode());
+    }
+
+    /**
+     * Ids added or changed in this snapshot compared to {@code previous}.
+     */
+    public Set<UUID> changedSince(DirectoryIndex<T> previous) {
+        Set<UUID> changed = new HashSet<>();
+        byId.forEach((id, record) -> {
+            if (previous == null || !Objects.equals(previous.byId.get(id), record)) {
+                changed.add(id);
+            }
+        });
+        return changed;
+    }
+
+    public Set<UUID> removedSince(DirectoryIndex<T> previous) {
+        if (previous == null) {
+            return Set.of();
+        }
+        Set<UUID> removed = new HashSet<>();
+        previous.byId.forEach((id, record) -> {
+            if (!byId.containsKey(id)) {
+                removed.add(id);
+            }
+        });
+        return removed;
+    }
+}
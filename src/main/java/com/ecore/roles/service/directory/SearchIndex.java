@@ -0,0 +1,233 @@
+package com.ecore.roles.service.directory;
+
+import com.ecore.roles.util.UuidIntMap;
+import com.ecore.roles.util.UuidObjectMap;
+import com.ecore.roles.util.UuidSet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Type-ahead index over the name fields of directory records. Every query term must prefix a word
+ * of the record; when that yields too few results, records sharing enough trigrams with the query
+ * fill the rest. Records are added, replaced and removed individually so the index follows snapshot
+ * refreshes.
+ */
+public class SearchIndex<T> {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final double MIN_TRIGRAM_SIMILARITY = 0.5;
+
+    private final Function<T, UUID> id;
+    private final Function<T, List<String>> fields;
+    private final Function<T, String> rankKey;
+
+    private final TreeMap<String, UuidSet> words = new TreeMap<>();
+    private final Map<String, UuidSet> trigrams = new HashMap<>();
+    private final UuidObjectMap<Entry<T>> entries = new UuidObjectMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SearchIndex(Function<T, UUID> id, Function<T, List<String>> fields, Function<T, String> rankKey) {
+        this.id = id;
+        this.fields = fields;
+        this.rankKey = rankKey;
+    }
+
+    public void putAll(Collection<T> records) {
+        lock.writeLock().lock();
+        try {
+            records.forEach(this::putLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(T record) {
+        putAll(List.of(record));
+    }
+
+    public void remove(UUID recordId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(recordId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<T> search(String query, int limit) {
+        List<String> terms = words(query);
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            UuidSet prefixMatches = prefixMatches(terms);
+            List<T> results = rank(prefixMatches).stream()
+                    .limit(limit)
+                    .collect(Collectors.toCollection(ArrayList::new));
+            if (results.size() < limit) {
+                fuzzyMatches(terms, prefixMatches).stream()
+                        .limit(limit - results.size())
+                        .forEach(results::add);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private UuidSet prefixMatches(List<String> terms) {
+        UuidSet matches = null;
+        for (String term : terms) {
+            UuidSet termMatches = new UuidSet();
+            SortedMap<String, UuidSet> range = words.subMap(term, term + Character.MAX_VALUE);
+            range.values().forEach(termMatches::addAll);
+            if (matches == null) {
+                matches = termMatches;
+            } else {
+                matches.retainAll(termMatches);
+            }
+            if (matches.isEmpty()) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    private List<T> fuzzyMatches(List<String> terms, UuidSet exclude) {
+        Set<String> queryTrigrams = new HashSet<>();
+        terms.forEach(term -> queryTrigrams.addAll(trigrams(term)));
+        UuidIntMap shared = new UuidIntMap();
+        for (String trigram : queryTrigrams) {
+            UuidSet candidates = trigrams.get(trigram);
+            if (candidates != null) {
+                candidates.forEach(candidate -> {
+                    if (!exclude.contains(candidate)) {
+                        shared.addTo(candidate, 1);
+                    }
+                });
+            }
+        }
+        List<Map.Entry<Entry<T>, Integer>> matches = new ArrayList<>();
+        shared.forEach((candidate, count) -> {
+            if ((double) count / queryTrigrams.size() >= MIN_TRIGRAM_SIMILARITY) {
+                matches.add(Map.entry(entries.get(candidate), count));
+            }
+        });
+        return matches.stream()
+                .sorted(Map.Entry.<Entry<T>, Integer>comparingByValue().reversed()
+                        .thenComparing(match -> match.getKey().rankKey))
+                .map(match -> match.getKey().record)
+                .collect(Collectors.toList());
+    }
+
+    private List<T> rank(UuidSet ids) {
+        List<Entry<T>> ranked = new ArrayList<>(ids.size());
+        ids.forEach(id -> ranked.add(entries.get(id)));
+        return ranked.stream()
+                .sorted(Comparator.comparing((Entry<T> entry) -> entry.rankKey)
+                        .thenComparing(entry -> entry.id.toString()))
+                .map(entry -> entry.record)
+                .collect(Collectors.toList());
+    }
+
+    private void putLocked(T record) {
+        UUID recordId = id.apply(record);
+        removeLocked(recordId);
+        Set<String> recordWords = new LinkedHashSet<>();
+        fields.apply(record).stream()
+                .filter(Objects::nonNull)
+                .forEach(field -> recordWords.addAll(words(field)));
+        Set<String> recordTrigrams = new HashSet<>();
+        recordWords.forEach(word -> recordTrigrams.addAll(trigrams(word)));
+
+        recordWords.forEach(word -> words.computeIfAbsent(word, key -> new UuidSet(1)).add(recordId));
+        recordTrigrams
+                .forEach(trigram -> trigrams.computeIfAbsent(trigram, key -> new UuidSet(1)).add(recordId));
+        entries.put(recordId, new Entry<>(recordId, record, normalise(rankKey.apply(record)), recordWords,
+                recordTrigrams));
+    }
+
+    private void removeLocked(UUID recordId) {
+        Entry<T> previous = entries.remove(recordId);
+        if (previous == null) {
+            return;
+        }
+        previous.words.forEach(word -> unlink(words, word, recordId));
+        previous.trigrams.forEach(trigram -> unlink(trigrams, trigram, recordId));
+    }
+
+    private static void unlink(Map<String, UuidSet> postings, String key, UUID recordId) {
+        UuidSet ids = postings.get(key);
+        if (ids != null && ids.remove(recordId) && ids.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    private static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return WORD_SEPARATOR.splitAsStream(normalise(text))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static Set<String> trigrams(String word) {
+        String padded = "$" + word + "$";
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private static String normalise(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static class Entry<T> {
+
+        final UUID id;
+        final T record;
+        final String rankKey;
+        final Set<String> words;
+        final Set<String> trigrams;
+
+        Entry(UUID id, T record, String rankKey, Set<String> words, Set<String> trigrams) {
+            this.id = id;
+            this.record = record;
+            this.rankKey = rankKey;
+            this.words = words;
+            this.trigrams = trigrams;
+        }
+    }
+}
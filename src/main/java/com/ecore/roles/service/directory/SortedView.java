@@ -0,0 +1,150 @@
+package com.ecore.roles.service.directory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Records ordered by a normalised sort key and then by id, positioned by binary search on a cursor.
+ */
+class SortedView<T> {
+
+    private final String[] keys;
+    private final UUID[] ids;
+    private final List<T> items;
+
+    SortedView(List<T> records, Function<T, String> sortKey, Function<T, UUID> id) {
+        List<Entry<T>> entries = records.stream()
+                .map(record -> new Entry<>(normalise(sortKey.apply(record)), id.apply(record), record))
+                .sorted()
+                .collect(Collectors.toList());
+        this.keys = new String[entries.size()];
+        this.ids = new UUID[entries.size()];
+        this.items = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            Entry<T> entry = entries.get(i);
+            keys[i] = entry.key;
+            ids[i] = entry.id;
+            items.add(entry.record);
+        }
+    }
+
+    static String normalise(String key) {
+        return ofNullable(key).map(value -> value.toLowerCase(Locale.ROOT)).orElse("");
+    }
+
+    /**
+     * Walks the view from the cursor, skipping {@code offset} matches and returning up to {@code size}
+     * of them together with the cursor of the last one when more matches follow.
+     */
+    Slice<T> slice(
+            String sort,
+            boolean descending,
+            DirectoryCursor after,
+            int offset,
+            int size,
+            Predicate<T> filter) {
+        int step = descending ? -1 : 1;
+        int index = after == null
+                ? (descending ? items.size() - 1 : 0)
+                : (descending ? lowerBound(after) - 1 : upperBound(after));
+        List<T> page = new ArrayList<>(Math.min(size, items.size()));
+        int skipped = 0;
+        int last = -1;
+        for (; index >= 0 && index < items.size(); index += step) {
+            T record = items.get(index);
+            if (!filter.test(record)) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+            } else if (page.size() < size) {
+                page.add(record);
+                last = index;
+            } else {
+                return new Slice<>(page, new DirectoryCursor(sort, descending, keys[last], ids[last]));
+            }
+        }
+        return new Slice<>(page, null);
+    }
+
+    List<T> items() {
+        return items;
+    }
+
+    private int compareAt(int index, DirectoryCursor cursor) {
+        int byKey = keys[index].compareTo(cursor.getKey());
+        return byKey != 0 ? byKey : Entry.compareIds(ids[index], cursor.getId());
+    }
+
+    private int upperBound(DirectoryCursor cursor) {
+        int low = 0;
+        int high = items.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareAt(mid, cursor) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int lowerBound(DirectoryCursor cursor) {
+        int low = 0;
+        int high = items.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareAt(mid, cursor) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static class Slice<T> {
+
+        final List<T> items;
+        final DirectoryCursor next;
+
+        Slice(List<T> items, DirectoryCursor next) {
+            this.items = items;
+            this.next = next;
+        }
+    }
+
+    private static class Entry<T> implements Comparable<Entry<T>> {
+
+        private static final Comparator<Entry<?>> ORDER = Comparator.<Entry<?>, String>comparing(e -> e.key)
+                .thenComparing((a, b) -> compareIds(a.id, b.id));
+
+        final String key;
+        final UUID id;
+        final T record;
+
+        Entry(String key, UUID id, T record) {
+            this.key = key;
+            this.id = id;
+            this.record = record;
+        }
+
+        static int compareIds(UUID a, UUID b) {
+            return a.toString().compareTo(b.toString());
+        }
+
+        @Override
+        public int compareTo(Entry<T> other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
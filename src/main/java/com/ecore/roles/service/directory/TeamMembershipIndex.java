@@ -0,0 +1,127 @@
+package com.ecore.roles.service.directory;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.util.UuidMultimap;
+import com.ecore.roles.util.UuidObjectMap;
+import com.ecore.roles.util.UuidSet;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Reverse index from user id to the ids of the teams the user leads or belongs to. Readers see a
+ * published snapshot, a {@link UuidObjectMap} from user to a {@link UuidSet} of team ids, neither
+ * of which changes once published, so they neither lock nor copy. Writers are serialised and
+ * publish a copy of the map with fresh sets for the users they touched, once per batch of changed
+ * teams. They track the members of each team in a primitive UUID multimap, so that a changed team
+ * only touches the users who joined or left it.
+ */
+public class TeamMembershipIndex {
+
+    private final UuidMultimap usersByTeam = new UuidMultimap();
+    private volatile UuidObjectMap<UuidSet> teamsByUser = new UuidObjectMap<>();
+
+    public boolean contains(UUID userId, UUID teamId) {
+        UuidSet teamIds = teamsByUser.get(userId);
+        return teamIds != null && teamIds.contains(teamId);
+    }
+
+    public void forEachTeamId(UUID userId, Consumer<UUID> action) {
+        UuidSet teamIds = teamsByUser.get(userId);
+        if (teamIds != null) {
+            teamIds.forEach(action);
+        }
+    }
+
+    public void put(Team team) {
+        update(List.of(), List.of(team));
+    }
+
+    public void remove(UUID teamId) {
+        update(List.of(teamId), List.of());
+    }
+
+    /**
+     * Applies removed and changed teams, publishing them together.
+     */
+    public synchronized void update(Collection<UUID> removedTeamIds, Collection<Team> changedTeams) {
+        Snapshot next = new Snapshot(new UuidObjectMap<>(teamsByUser));
+        removedTeamIds.forEach(teamId -> {
+            UuidSet users = usersByTeam.removeAll(teamId);
+            if (users != null) {
+                users.forEach(userId -> next.unlink(userId, teamId));
+            }
+        });
+        changedTeams.forEach(team -> apply(next, team));
+        teamsByUser = next.teamsByUser;
+    }
+
+    private void apply(Snapshot next, Team team) {
+        UUID teamId = team.getId();
+        UuidSet users = new UuidSet();
+        ofNullable(team.getTeamLeadId()).ifPresent(users::add);
+        ofNullable(team.getTeamMemberIds()).ifPresent(userIds -> userIds.forEach(users::add));
+
+        UuidSet previous = usersByTeam.removeAll(teamId);
+        if (previous != null) {
+            previous.forEach(userId -> {
+                if (!users.contains(userId)) {
+                    next.unlink(userId, teamId);
+                }
+            });
+        }
+        users.forEach(userId -> {
+            usersByTeam.put(teamId, userId);
+            if (previous == null || !previous.contains(userId)) {
+                next.link(userId, teamId);
+            }
+        });
+    }
+
+    /**
+     * Unpublished copy of the map. A user's set is copied the first time the batch changes it and
+     * changed in place after that.
+     */
+    private static class Snapshot {
+
+        private final UuidObjectMap<UuidSet> teamsByUser;
+        private final UuidSet copiedUsers = new UuidSet();
+
+        Snapshot(UuidObjectMap<UuidSet> teamsByUser) {
+            this.teamsByUser = teamsByUser;
+        }
+
+        void link(UUID userId, UUID teamId) {
+            writable(userId).add(teamId);
+        }
+
+        void unlink(UUID userId, UUID teamId) {
+            if (!teamsByUser.containsKey(userId)) {
+                return;
+            }
+            UuidSet teamIds = writable(userId);
+            teamIds.remove(teamId);
+            if (teamIds.isEmpty()) {
+                teamsByUser.remove(userId);
+            }
+        }
+
+        private UuidSet writable(UUID userId) {
+            UuidSet teamIds = teamsByUser.get(userId);
+            if (teamIds != null && copiedUsers.contains(userId)) {
+                return teamIds;
+            }
+            UuidSet copy = new UuidSet(teamIds == null ? 1 : teamIds.size() + 1);
+            if (teamIds != null) {
+                copy.addAll(teamIds);
+            }
+            teamsByUser.put(userId, copy);
+            copiedUsers.add(userId);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecore.roles.service.event;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+@Getter
+@EqualsAndHashCode
+@ToString
+public class ResourceChangedEvent {
+
+    private final Class<?> resource;
+
+    /**
+     * Identifiers of the changed resources, empty when any resource of this type may have changed.
+     */
+    private final Set<UUID> ids;
+
+    private ResourceChangedEvent(Class<?> resource, Set<UUID> ids) {
+        this.resource = resource;
+        this.ids = ids;
+    }
+
+    public static <T> ResourceChangedEvent all(Class<T> resource) {
+        return new ResourceChangedEvent(resource, Set.of());
+    }
+
+    public static <T> ResourceChangedEvent of(Class<T> resource, Collection<UUID> ids) {
+        return new ResourceChangedEvent(resource, Set.copyOf(ids));
+    }
+
+    public boolean affectsAll() {
+        return ids.isEmpty();
+    }
+}
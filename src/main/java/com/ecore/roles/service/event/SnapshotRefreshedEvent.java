@@ -0,0 +1,41 @@
+package com.ecore.roles.service.event;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published after an upstream directory snapshot is replaced, listing what differs from the
+ * previous one.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class SnapshotRefreshedEvent {
+
+    private final Class<?> resource;
+
+    /**
+     * Identifiers of records that were added or whose content changed.
+     */
+    private final Set<UUID> changedIds;
+
+    private final Set<UUID> removedIds;
+
+    public <T> SnapshotRefreshedEvent(
+            Class<T> resource,
+            Collection<UUID> changedIds,
+            Collection<UUID> removedIds) {
+        this.resource = resource;
+        this.changedIds = Set.copyOf(changedIds);
+        this.removedIds = Set.copyOf(removedIds);
+    }
+
+    public boolean isEmpty() {
+        return changedIds.isEmpty() && removedIds.isEmpty();
+    }
+}
@@ -0,0 +1,83 @@
+package com.ecore.roles.service.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over keys given as two independent 64-bit hashes, probed by double
+ * hashing. Sized for an expected number of keys and false-positive rate, within a cap on its bit
+ * count.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong setBits = new AtomicLong();
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate, long maxBits) {
+        long n = Math.max(1, expectedInsertions);
+        long optimalBits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        long bits = Math.max(64, Math.min(optimalBits, maxBits));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void put(long hash1, long hash2) {
+        long combined = hash1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(combined, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current = words.get(word);
+            while ((current & mask) == 0) {
+                if (words.compareAndSet(word, current, current | mask)) {
+                    setBits.incrementAndGet();
+                    break;
+                }
+                current = words.get(word);
+            }
+            combined += hash2;
+        }
+    }
+
+    public boolean mightContain(long hash1, long hash2) {
+        long combined = hash1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(combined, bitCount);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+            combined += hash2;
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * Probability that a key never added is reported present, estimated from the bits set so far.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) setBits.get() / bitCount, hashCount);
+    }
+
+    /**
+     * Estimated number of distinct keys added, from the fraction of bits set.
+     */
+    public long approximateSize() {
+        double fractionUnset = 1 - (double) setBits.get() / bitCount;
+        if (fractionUnset <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(-Math.log(fractionUnset) * bitCount / hashCount);
+    }
+}
@@ -0,0 +1,227 @@
+package com.ecore.roles.service.impl;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.client.model.User;
+import com.ecore.roles.configuration.DirectoryConfiguration;
+import com.ecore.roles.service.DirectoryService;
+import com.ecore.roles.service.TeamsService;
+import com.ecore.roles.service.UsersService;
+import com.ecore.roles.service.directory.DirectoryIndex;
+import com.ecore.roles.service.event.ResourceChangedEvent;
+import com.ecore.roles.service.event.SnapshotRefreshedEvent;
+import com.ecore.roles.service.model.DirectoryPage;
+import com.ecore.roles.service.model.DirectoryQuery;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Serves user and team listings from in-memory snapshots of the upstream directories. Snapshots are
+ * loaded on first use and then reloaded on a schedule or when upstream reports a change.
+ */
+@Log4j2
+@Service
+public class DirectoryServiceImpl implements DirectoryService {
+
+    private final Snapshot<User> users;
+    private final Snapshot<Team> teams;
+    private final Executor refreshExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public DirectoryServiceImpl(
+            UsersService usersService,
+            TeamsService teamsService,
+            @Qualifier(DirectoryConfiguration.REFRESH_EXECUTOR) Executor refreshExecutor,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry) {
+        this.refreshExecutor = refreshExecutor;
+        this.eventPublisher = eventPublisher;
+        this.users = new Snapshot<>(User.class, usersService::getUsers, DirectoryServiceImpl::indexUsers,
+                meterRegistry);
+        this.teams = new Snapshot<>(Team.class, teamsService::getTeams, DirectoryServiceImpl::indexTeams,
+                meterRegistry);
+    }
+
+    @Override
+    public DirectoryIndex<User> getUsers() {
+        return users.get();
+    }
+
+    @Override
+    public DirectoryIndex<Team> getTeams() {
+        return teams.get();
+    }
+
+    @Override
+    public DirectoryPage<User> findUsers(@NonNull DirectoryQuery query) {
+        Predicate<User> filter = user -> true;
+        if (query.getNamePrefix() != null) {
+            String prefix = normalise(query.getNamePrefix());
+            filter = filter.and(user -> normalise(user.getDisplayName()).startsWith(prefix)
+                    || normalise(user.getFirstName()).startsWith(prefix)
+                    || normalise(user.getLastName()).startsWith(prefix));
+        }
+        if (query.getLocation() != null) {
+            filter = filter.and(user -> query.getLocation().equalsIgnoreCase(user.getLocation()));
+        }
+        return users.get().query(query, filter);
+    }
+
+    @Override
+    public DirectoryPage<Team> findTeams(@NonNull DirectoryQuery query) {
+        Predicate<Team> filter = team -> true;
+        if (query.getNamePrefix() != null) {
+            String prefix = normalise(query.getNamePrefix());
+            filter = filter.and(team -> normalise(team.getName()).startsWith(prefix));
+        }
+        if (query.getTeamLeadId() != null) {
+            filter = filter.and(team -> query.getTeamLeadId().equals(team.getTeamLeadId()));
+        }
+        return teams.get().query(query, filter);
+    }
+
+    @Scheduled(
+            initialDelayString = "#{@directoryConfigurationProperties.refreshInterval.toMillis()}",
+            fixedDelayString = "#{@directoryConfigurationProperties.refreshInterval.toMillis()}")
+    public void refreshLoaded() {
+        users.refreshIfLoaded();
+        teams.refreshIfLoaded();
+    }
+
+    @EventListener
+    public void onResourceChanged(ResourceChangedEvent event) {
+        if (event.getResource() == User.class) {
+            users.requestRefresh();
+        } else if (event.getResource() == Team.class) {
+            teams.requestRefresh();
+        }
+    }
+
+    private static DirectoryIndex<User> indexUsers(List<User> users) {
+        Map<String, Function<User, String>> sortKeys = new LinkedHashMap<>();
+        sortKeys.put("displayName", User::getDisplayName);
+        sortKeys.put("firstName", User::getFirstName);
+        sortKeys.put("lastName", User::getLastName);
+        sortKeys.put("location", User::getLocation);
+        sortKeys.put("id", user -> user.getId().toString());
+        return new DirectoryIndex<>(users, User::getId, sortKeys, "displayName");
+    }
+
+    private static DirectoryIndex<Team> indexTeams(List<Team> teams) {
+        Map<String, Function<Team, String>> sortKeys = new LinkedHashMap<>();
+        sortKeys.put("name", Team::getName);
+        sortKeys.put("id", team -> team.getId().toString());
+        return new DirectoryIndex<>(teams, Team::getId, sortKeys, "name");
+    }
+
+    private static String normalise(String value) {
+        return ofNullable(value).map(v -> v.toLowerCase(Locale.ROOT)).orElse("");
+    }
+
+    private class Snapshot<T> {
+
+        private final Class<T> resource;
+        private final Supplier<List<T>> loader;
+        private final Function<List<T>, DirectoryIndex<T>> indexer;
+        private final Counter refreshFailures;
+        private final AtomicReference<DirectoryIndex<T>> current = new AtomicReference<>();
+        private final AtomicBoolean refreshQueued = new AtomicBoolean();
+
+        Snapshot(
+                Class<T> resource,
+                Supplier<List<T>> loader,
+                Function<List<T>, DirectoryIndex<T>> indexer,
+                MeterRegistry meterRegistry) {
+            this.resource = resource;
+            this.loader = loader;
+            this.indexer = indexer;
+            this.refreshFailures = Counter.builder("roles.directory.refresh.failures")
+                    .tag("resource", resource.getSimpleName())
+                    .register(meterRegistry);
+        }
+
+        DirectoryIndex<T> get() {
+            DirectoryIndex<T> index = current.get();
+            if (index != null) {
+                return index;
+            }
+            SnapshotRefreshedEvent event = null;
+            synchronized (this) {
+                if (current.get() == null) {
+                    event = replace();
+                }
+                index = current.get();
+            }
+            publish(event);
+            return index;
+        }
+
+        /**
+         * Queues a reload unless one is already waiting to start, since that one will see the change too.
+         */
+        void requestRefresh() {
+            if (refreshQueued.compareAndSet(false, true)) {
+                refreshExecutor.execute(() -> {
+                    refreshQueued.set(false);
+                    refreshIfLoaded();
+                });
+            }
+        }
+
+        void refreshIfLoaded() {
+            if (current.get() == null) {
+                return;
+            }
+            SnapshotRefreshedEvent event;
+            try {
+                synchronized (this) {
+                    event = replace();
+                }
+            } catch (RuntimeException e) {
+                refreshFailures.increment();
+                log.warn("Failed to refresh {} directory, serving previous snapshot",
+                        resource.getSimpleName(), e);
+                return;
+            }
+            publish(event);
+        }
+
+        /**
+         * Swaps in a freshly loaded snapshot and returns what changed. The event is published by the caller
+         * after releasing the monitor, because listeners may read this snapshot under locks of their own.
+         */
+        private SnapshotRefreshedEvent replace() {
+            DirectoryIndex<T> next = indexer.apply(ofNullable(loader.get()).orElse(List.of()));
+            DirectoryIndex<T> previous = current.getAndSet(next);
+            return new SnapshotRefreshedEvent(resource, next.changedSince(previous),
+                    next.removedSince(previous));
+        }
+
+        private void publish(SnapshotRefreshedEvent event) {
+            if (event != null && !event.isEmpty()) {
+                eventPublisher.publishEvent(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.ecore.roles.service.impl;
+
+import com.ecore.roles.configuration.MembershipFilterConfigurationProperties;
+import com.ecore.roles.repository.MembershipRepository;
+import com.ecore.roles.repository.routing.MembershipShardRouter;
+import com.ecore.roles.service.MembershipFilterService;
+import com.ecore.roles.service.filter.BloomFilter;
+import com.ecore.roles.service.model.MembershipKeyView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bloom filter over every (team, user) membership key. Built from all shards once the application
+ * is ready, then kept current from local creations and a periodic scan of recently inserted rows,
+ * which picks up memberships created by other instances. Deleted memberships stay in the filter,
+ * which only costs a false positive. A membership created elsewhere is a false negative until the
+ * next sync, so the filter is off by default and meant for single-instance deployments.
+ */
+@Log4j2
+@Service
+public class MembershipFilterServiceImpl implements MembershipFilterService {
+
+    private static final int BUILD_PAGE_SIZE = 10_000;
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private final MembershipRepository membershipRepository;
+    private final MembershipShardRouter shardRouter;
+    private final MembershipFilterConfigurationProperties properties;
+    private final BloomFilter filter;
+    private final Instant[] watermarks;
+    private final Counter negatives;
+    private final Counter misses;
+    private volatile boolean built;
+
+    @Autowired
+    public MembershipFilterServiceImpl(
+            MembershipRepository membershipRepository,
+            MembershipShardRouter shardRouter,
+            MembershipFilterConfigurationProperties properties,
+            MeterRegistry meterRegistry) {
+        this.membershipRepository = membershipRepository;
+        this.shardRouter = shardRouter;
+        this.properties = properties;
+        this.filter = properties.isEnabled()
+                ? new BloomFilter(properties.getExpectedMemberships(), properties.getFalsePositiveRate(),
+                        properties.getMaxMemory().toBytes() * 8)
+                : null;
+        this.watermarks = new Instant[shardRouter.getShardCount()];
+        this.negatives = Counter.builder("roles.membership.filter.negatives")
+                .description("Lookups answered as not found without I/O")
+                .register(meterRegistry);
+        this.misses = Counter.builder("roles.membership.filter.false_positives")
+                .description("Lookups the filter passed that found no membership")
+                .register(meterRegistry);
+        if (filter != null) {
+            Gauge.builder("roles.membership.filter.memory", filter, f -> f.bitSize() / 8.0)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("roles.membership.filter.size", filter, BloomFilter::approximateSize)
+                    .register(meterRegistry);
+            Gauge.builder("roles.membership.filter.expected_fpp", filter,
+                    BloomFilter::expectedFalsePositiveRate)
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (filter != null) {
+            Thread thread = new Thread(this::build, "membership-filter");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    public boolean mightExist(@NonNull UUID teamId, @NonNull UUID userId) {
+        if (!built || filter.mightContain(hash(teamId, userId, 0), hash(userId, teamId, SEED))) {
+            return true;
+        }
+        negatives.increment();
+        return false;
+    }
+
+    @Override
+    public void add(@NonNull UUID teamId, @NonNull UUID userId) {
+        if (filter != null) {
+            filter.put(hash(teamId, userId, 0), hash(userId, teamId, SEED));
+        }
+    }
+
+    @Override
+    public void recordMiss(@NonNull UUID teamId, @NonNull UUID userId) {
+        if (built) {
+            misses.increment();
+        }
+    }
+
+    public boolean isBuilt() {
+        return built;
+    }
+
+    public void build() {
+        long started = System.nanoTime();
+        try {
+            shardRouter.forEachShard(shard -> {
+                UUID after = new UUID(0, 0);
+                List<MembershipKeyView> page;
+                do {
+                    page = membershipRepository.findKeysAfter(after, PageRequest.of(0, BUILD_PAGE_SIZE));
+                    page.forEach(key -> add(shard, key));
+                    if (!page.isEmpty()) {
+                        after = page.get(page.size() - 1).getId();
+                    }
+                } while (page.size() == BUILD_PAGE_SIZE);
+            });
+            built = true;
+            log.info("Built membership filter in {} ms: ~{} keys, {} KB, {} hashes, expected fpp {}",
+                    (System.nanoTime() - started) / 1_000_000, filter.approximateSize(),
+                    filter.bitSize() / 8 / 1024, filter.hashCount(), filter.expectedFalsePositiveRate());
+        } catch (RuntimeException e) {
+            log.error("Failed to build membership filter, lookups will not be filtered", e);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "#{@membershipFilterConfigurationProperties.syncInterval.toMillis()}",
+            fixedDelayString = "#{@membershipFilterConfigurationProperties.syncInterval.toMillis()}")
+    public void sync() {
+        if (!built) {
+            return;
+        }
+        shardRouter.forEachShard(shard -> {
+            Instant since = watermarks[shard] == null
+                    ? Instant.EPOCH
+                    : watermarks[shard].minus(properties.getSyncOverlap());
+            membershipRepository.findKeysCreatedSince(since).forEach(key -> add(shard, key));
+        });
+    }
+
+    private void add(int shard, MembershipKeyView key) {
+        add(key.getTeamId(), key.getUserId());
+        Instant createdAt = key.getCreatedAt();
+        if (createdAt != null && (watermarks[shard] == null || createdAt.isAfter(watermarks[shard]))) {
+            watermarks[shard] = createdAt;
+        }
+    }
+
+    private static long hash(UUID first, UUID second, long seed) {
+        long h = mix(first.getMostSignificantBits() ^ seed);
+        h = mix(h ^ first.getLeastSignificantBits());
+        h = mix(h ^ second.getMostSignificantBits());
+        return mix(h ^ second.getLeastSignificantBits());
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
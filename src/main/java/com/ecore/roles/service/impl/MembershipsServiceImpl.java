@@ -2,42 +2,120 @@ package com.ecore.roles.service.impl;
 
 import com.ecore.roles.client.model.Team;
 import com.ecore.roles.client.model.User;
+import com.ecore.roles.configuration.BatchingConfigurationProperties;
+import com.ecore.roles.configuration.GroupCommitConfigurationProperties;
 import com.ecore.roles.exception.InvalidArgumentException;
 import com.ecore.roles.exception.ResourceExistsException;
 import com.ecore.roles.exception.ResourceNotFoundException;
 import com.ecore.roles.service.model.Membership;
+import com.ecore.roles.service.model.MembershipView;
 import com.ecore.roles.service.model.Role;
 import com.ecore.roles.repository.MembershipRepository;
+import com.ecore.roles.repository.routing.MembershipShardRouter;
+import com.ecore.roles.repository.routing.ReadYourWritesContextHolder;
+import com.ecore.roles.service.MembershipFilterService;
 import com.ecore.roles.service.MembershipsService;
+import com.ecore.roles.service.RoleIndexService;
 import com.ecore.roles.service.RolesService;
 import com.ecore.roles.service.TeamsService;
+import com.ecore.roles.service.UserTeamsService;
+import com.ecore.roles.service.batch.MicroBatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.NonNull;
+import lombok.Value;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toSet;
 
 @Log4j2
 @Service
 public class MembershipsServiceImpl implements MembershipsService {
 
+    private static final Comparator<MembershipView> BY_ID =
+            Comparator.comparing(membership -> membership.getId().toString());
+
     private final MembershipRepository membershipRepository;
     private final RolesService rolesService;
 
     private final TeamsService teamsService;
 
+    private final MembershipShardRouter shardRouter;
+
+    private final UserTeamsService userTeamsService;
+
+    private final MembershipFilterService membershipFilterService;
+
+    private final RoleIndexService roleIndexService;
+
+    private final MicroBatcher<MembershipKey, Membership> lookups;
+
+    private final MicroBatcher<Membership, WriteOutcome> writes;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final Counter groupCommitFallbacks;
+
     @Autowired
     public MembershipsServiceImpl(
             MembershipRepository membershipRepository,
             RolesService rolesService,
-            TeamsService teamsService) {
+            TeamsService teamsService,
+            MembershipShardRouter shardRouter,
+            UserTeamsService userTeamsService,
+            MembershipFilterService membershipFilterService,
+            RoleIndexService roleIndexService,
+            BatchingConfigurationProperties batchingProperties,
+            GroupCommitConfigurationProperties groupCommitProperties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
         this.membershipRepository = membershipRepository;
         this.rolesService = rolesService;
         this.teamsService = teamsService;
+        this.shardRouter = shardRouter;
+        this.userTeamsService = userTeamsService;
+        this.membershipFilterService = membershipFilterService;
+        this.roleIndexService = roleIndexService;
+        this.lookups = new MicroBatcher<>("memberships",
+                batchingProperties.isEnabled() ? batchingProperties.getWindow() : Duration.ZERO,
+                batchingProperties.getMaxBatchSize(),
+                this::findMemberships,
+                meterRegistry);
+        this.writes = groupCommitProperties.isEnabled()
+                ? new MicroBatcher<>("membership-writes",
+                        groupCommitProperties.getWindow(),
+                        groupCommitProperties.getMaxBatchSize(),
+                        this::commitMemberships,
+                        meterRegistry)
+                : null;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.groupCommitFallbacks = Counter.builder("roles.group-commit.fallbacks")
+                .register(meterRegistry);
     }
 
     @Override
@@ -46,7 +124,7 @@ public class MembershipsServiceImpl implements MembershipsService {
         UUID roleId = ofNullable(m.getRole()).map(Role::getId)
                 .orElseThrow(() -> new InvalidArgumentException(Role.class));
 
-        rolesService.getRole(roleId);
+        Role role = rolesService.getRole(roleId);
 
         UUID userId = ofNullable(m.getUserId())
                 .orElseThrow(() -> new InvalidArgumentException(User.class));
@@ -54,32 +132,207 @@ public class MembershipsServiceImpl implements MembershipsService {
         UUID teamId = ofNullable(m.getTeamId())
                 .orElseThrow(() -> new InvalidArgumentException(Team.class));
 
-        Team team = ofNullable(teamsService.getTeam(teamId))
-                .orElseThrow(() -> new ResourceNotFoundException(Team.class, teamId));
+        if (!userTeamsService.isKnownMember(userId, teamId)) {
+            Team team = ofNullable(teamsService.getTeam(teamId))
+                    .orElseThrow(() -> new ResourceNotFoundException(Team.class, teamId));
 
-        if (!team.userBelongsToTeam(userId)) {
-            throw new InvalidArgumentException(Membership.class,
-                    "The provided user doesn't belong to the provided team.");
+            if (!team.userBelongsToTeam(userId)) {
+                throw new InvalidArgumentException(Membership.class,
+                        "The provided user doesn't belong to the provided team.");
+            }
         }
 
-        if (membershipRepository.findByUserIdAndTeamId(m.getUserId(), m.getTeamId())
-                .isPresent()) {
-            throw new ResourceExistsException(Membership.class);
+        Membership created;
+        if (writes != null) {
+            created = writes.load(m).get();
+            // The batch committed on its leader's thread, so only the leader's client was stamped.
+            ReadYourWritesContextHolder.recordWrite();
+        } else {
+            if (shardRouter.onShard(teamId, () -> membershipRepository.findByUserIdAndTeamId(userId, teamId))
+                    .isPresent()) {
+                throw new ResourceExistsException(Membership.class);
+            }
+            created = shardRouter.onShard(teamId, () -> membershipRepository.save(m));
         }
+        membershipFilterService.add(teamId, userId);
+        roleIndexService.put(teamId, userId, role);
+        return created;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MembershipView> getMemberships(@NonNull UUID rid) {
+        return shardRouter.scatterGather(() -> membershipRepository.findByRoleId(rid), BY_ID);
+    }
 
-        return membershipRepository.save(m);
+    @Override
+    @Transactional(readOnly = true)
+    public List<MembershipView> getMemberships(@NonNull UUID rid, int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new InvalidArgumentException(Pageable.class,
+                    "Page must not be negative and size must be positive.");
+        }
+        return shardRouter.scatterGather(
+                (shardPage, shardSize) -> membershipRepository.findByRoleId(rid,
+                        PageRequest.of(shardPage, shardSize, Sort.by("id"))),
+                BY_ID,
+                page,
+                size);
     }
 
     @Override
-    public List<Membership> getMemberships(@NonNull UUID rid) {
-        return membershipRepository.findByRoleId(rid);
+    @Transactional(readOnly = true)
+    public List<MembershipView> getTeamMemberships(@NonNull UUID teamId) {
+        return shardRouter.onShard(teamId, () -> membershipRepository.findByTeamId(teamId));
     }
 
     @Override
     public Membership getMembership(@NonNull UUID teamId, @NonNull UUID userId) {
-        return membershipRepository.findByUserIdAndTeamId(userId, teamId)
-                .orElseThrow(() -> new ResourceNotFoundException(Membership.class,
-                        String.format("Invalid userId (%s) and teamId (%s) combination.",
-                                userId, teamId)));
+        if (!membershipFilterService.mightExist(teamId, userId)) {
+            throw membershipNotFound(teamId, userId);
+        }
+        MembershipKey key = new MembershipKey(teamId, userId);
+        // A batch is routed by its leader's read-your-writes state, so a caller that must read from the
+        // primary looks up on its own thread.
+        Membership membership = ReadYourWritesContextHolder.isWithinWindow()
+                ? findMemberships(Set.of(key)).get(key)
+                : lookups.load(key);
+        if (membership == null) {
+            membershipFilterService.recordMiss(teamId, userId);
+            throw membershipNotFound(teamId, userId);
+        }
+        return membership;
+    }
+
+    static ResourceNotFoundException membershipNotFound(UUID teamId, UUID userId) {
+        return new ResourceNotFoundException(Membership.class,
+                () -> "Invalid userId (" + userId + ") and teamId (" + teamId + ") combination.");
+    }
+
+    /**
+     * Resolves a batch of lookups with one query per shard. Each shard query runs in its own read-only
+     * transaction, so that it binds its own connection and may be served by a replica.
+     */
+    private Map<MembershipKey, Membership> findMemberships(Set<MembershipKey> keys) {
+        Map<MembershipKey, Membership> found = new HashMap<>();
+        keys.stream()
+                .collect(groupingBy(key -> shardRouter.shardOf(key.getTeamId())))
+                .values()
+                .forEach(shardKeys -> shardRouter.onShard(shardKeys.get(0).getTeamId(),
+                        () -> readOnlyTransactionTemplate.execute(status -> findOnShard(shardKeys)))
+                        .forEach(membership -> {
+                            MembershipKey key =
+                                    new MembershipKey(membership.getTeamId(), membership.getUserId());
+                            if (keys.contains(key)) {
+                                found.put(key, membership);
+                            }
+                        }));
+        return found;
+    }
+
+    private List<Membership> findOnShard(Collection<MembershipKey> keys) {
+        return membershipRepository.findByTeamIdInAndUserIdIn(
+                keys.stream().map(MembershipKey::getTeamId).collect(toSet()),
+                keys.stream().map(MembershipKey::getUserId).collect(toSet()));
+    }
+
+    /**
+     * Inserts a batch of validated memberships with one transaction per shard. If a concurrent writer
+     * claims one of the pairs first, that shard's batch is rolled back and retried one by one.
+     */
+    private Map<Membership, WriteOutcome> commitMemberships(Set<Membership> batch) {
+        Map<Membership, WriteOutcome> outcomes = new HashMap<>();
+        batch.stream()
+                .collect(groupingBy(membership -> shardRouter.shardOf(membership.getTeamId())))
+                .values()
+                .forEach(shardBatch -> outcomes.putAll(commitOnShard(shardBatch)));
+        return outcomes;
+    }
+
+    private Map<Membership, WriteOutcome> commitOnShard(List<Membership> batch) {
+        Map<Membership, UUID> requestedIds = new HashMap<>();
+        batch.forEach(membership -> requestedIds.put(membership, membership.getId()));
+        try {
+            return shardRouter.onShard(batch.get(0).getTeamId(),
+                    () -> transactionTemplate.execute(status -> insertNew(batch)));
+        } catch (DataIntegrityViolationException e) {
+            groupCommitFallbacks.increment();
+            Map<Membership, WriteOutcome> outcomes = new HashMap<>();
+            for (Membership membership : batch) {
+                membership.setId(requestedIds.get(membership));
+                outcomes.put(membership, commitOne(membership));
+            }
+            return outcomes;
+        }
+    }
+
+    private Map<Membership, WriteOutcome> insertNew(List<Membership> batch) {
+        Set<MembershipKey> taken = findOnShard(batch.stream().map(MembershipKey::of).collect(toSet()))
+                .stream()
+                .map(MembershipKey::of)
+                .collect(toSet());
+        Map<Membership, WriteOutcome> outcomes = new HashMap<>();
+        List<Membership> inserts = new ArrayList<>();
+        for (Membership membership : batch) {
+            if (taken.add(MembershipKey.of(membership))) {
+                inserts.add(membership);
+            } else {
+                outcomes.put(membership, WriteOutcome.exists());
+            }
+        }
+        List<Membership> saved = membershipRepository.saveAllAndFlush(inserts);
+        for (int i = 0; i < inserts.size(); i++) {
+            outcomes.put(inserts.get(i), WriteOutcome.created(saved.get(i)));
+        }
+        return outcomes;
+    }
+
+    private WriteOutcome commitOne(Membership membership) {
+        return shardRouter.onShard(membership.getTeamId(), () -> {
+            if (membershipRepository.findByUserIdAndTeamId(membership.getUserId(), membership.getTeamId())
+                    .isPresent()) {
+                return WriteOutcome.exists();
+            }
+            try {
+                return WriteOutcome.created(membershipRepository.save(membership));
+            } catch (DataIntegrityViolationException e) {
+                return WriteOutcome.exists();
+            }
+        });
+    }
+
+    @Value
+    private static class WriteOutcome {
+
+        Membership membership;
+
+        boolean exists;
+
+        static WriteOutcome created(Membership membership) {
+            return new WriteOutcome(membership, false);
+        }
+
+        static WriteOutcome exists() {
+            return new WriteOutcome(null, true);
+        }
+
+        Membership get() {
+            if (exists) {
+                throw new ResourceExistsException(Membership.class);
+            }
+            return membership;
+        }
+    }
+
+    @Value
+    private static class MembershipKey {
+
+        UUID teamId;
+
+        UUID userId;
+
+        static MembershipKey of(Membership membership) {
+            return new MembershipKey(membership.getTeamId(), membership.getUserId());
+        }
     }
 }
@@ -0,0 +1,320 @@
+package com.ecore.roles.service.impl;
+
+import com.ecore.roles.configuration.RoleIndexConfigurationProperties;
+import com.ecore.roles.configuration.ShardingConfigurationProperties;
+import com.ecore.roles.repository.MembershipRepository;
+import com.ecore.roles.repository.RoleRepository;
+import com.ecore.roles.repository.routing.MembershipShardRouter;
+import com.ecore.roles.service.RoleIndexService;
+import com.ecore.roles.service.index.MappedMembershipTable;
+import com.ecore.roles.service.model.MembershipKeyView;
+import com.ecore.roles.service.model.Role;
+import com.ecore.roles.util.UuidIntMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps (team, user) → role in a {@link MappedMembershipTable}. A file left by a previous run
+ * serves lookups as soon as the application is ready, while a fresh table is rebuilt from every
+ * shard in the background and swapped in. Local creations and database read-throughs are written to
+ * both tables.
+ */
+@Log4j2
+@Service
+public class RoleIndexServiceImpl implements RoleIndexService, DisposableBean {
+
+    private static final int BUILD_PAGE_SIZE = 10_000;
+
+    private final RoleIndexConfigurationProperties properties;
+    private final MembershipRepository membershipRepository;
+    private final RoleRepository roleRepository;
+    private final MembershipShardRouter shardRouter;
+    private final DataSourceProperties dataSourceProperties;
+    private final ShardingConfigurationProperties shardingProperties;
+    private final ObjectProvider<Flyway> flyway;
+    private final Counter hits;
+    private final Counter misses;
+    private final Object writeLock = new Object();
+    private final UuidIntMap ordinals = new UuidIntMap();
+
+    private volatile MappedMembershipTable table;
+    private volatile Role[] roles = new Role[1];
+    private MappedMembershipTable building;
+    private boolean full;
+
+    @Autowired
+    public RoleIndexServiceImpl(
+            RoleIndexConfigurationProperties properties,
+            MembershipRepository membershipRepository,
+            RoleRepository roleRepository,
+            MembershipShardRouter shardRouter,
+            DataSourceProperties dataSourceProperties,
+            ShardingConfigurationProperties shardingProperties,
+            ObjectProvider<Flyway> flyway,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.membershipRepository = membershipRepository;
+        this.roleRepository = roleRepository;
+        this.shardRouter = shardRouter;
+        this.dataSourceProperties = dataSourceProperties;
+        this.shardingProperties = shardingProperties;
+        this.flyway = flyway;
+        this.hits = Counter.builder("roles.role-index.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses =
+                Counter.builder("roles.role-index.lookups").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("roles.role-index.size", this, index -> index.table == null ? 0 : index.table.size())
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            open();
+            Thread thread = new Thread(this::rebuild, "role-index");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    public Role findRole(@NonNull UUID teamId, @NonNull UUID userId) {
+        MappedMembershipTable current = table;
+        if (current == null) {
+            return null;
+        }
+        int ordinal = current.get(teamId, userId);
+        Role[] known = roles;
+        if (ordinal == 0 || ordinal >= known.length || known[ordinal] == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return known[ordinal];
+    }
+
+    @Override
+    public void put(@NonNull UUID teamId, @NonNull UUID userId, @NonNull Role role) {
+        if (table == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            int ordinal = ordinalOf(role);
+            if (ordinal == 0) {
+                return;
+            }
+            table = store(table, teamId, userId, ordinal);
+            if (building != null) {
+                building = store(building, teamId, userId, ordinal);
+            }
+        }
+    }
+
+    /**
+     * Maps the table file, reusing one left by a previous run, and resolves its role table. The file is
+     * discarded when it was built from other databases or schema, or from more memberships than the
+     * database now holds: memberships are never deleted, so such a database is not the one it was built
+     * from.
+     */
+    public void open() {
+        try {
+            long source = sourceIdentity();
+            long memberships = countMemberships();
+            MappedMembershipTable opened = MappedMembershipTable.open(properties.getPath(),
+                    properties.getInitialCapacity(), properties.getMaxRoles(), source);
+            if (opened.watermark() > memberships) {
+                log.info("Discarding role index {}, built from {} memberships while the database holds {}",
+                        opened.path(), opened.watermark(), memberships);
+                opened = MappedMembershipTable.create(properties.getPath(), properties.getInitialCapacity(),
+                        properties.getMaxRoles(), source);
+            }
+            List<UUID> ids = new ArrayList<>();
+            for (int ordinal = 1; ordinal <= opened.roleCount(); ordinal++) {
+                ids.add(opened.roleAt(ordinal));
+            }
+            Map<UUID, Role> byId = new HashMap<>();
+            roleRepository.findAllById(ids).forEach(role -> byId.put(role.getId(), role));
+            synchronized (writeLock) {
+                Role[] known = new Role[ids.size() + 1];
+                for (int ordinal = 1; ordinal <= ids.size(); ordinal++) {
+                    ordinals.put(ids.get(ordinal - 1), ordinal);
+                    known[ordinal] = byId.get(ids.get(ordinal - 1));
+                }
+                roles = known;
+                table = opened;
+            }
+            log.info("Opened role index {} with {} entries", opened.path(), opened.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open role index " + properties.getPath(), e);
+        }
+    }
+
+    /**
+     * Builds a fresh table from every shard next to the live one and replaces it.
+     */
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        Path path = properties.getPath();
+        try {
+            long memberships = countMemberships();
+            synchronized (writeLock) {
+                building = MappedMembershipTable.create(path.resolveSibling(path.getFileName() + ".next"),
+                        Math.max(table.capacity(), properties.getInitialCapacity()),
+                        properties.getMaxRoles(), table.source());
+                building.setWatermark(memberships);
+                for (int ordinal = 1; ordinal <= table.roleCount(); ordinal++) {
+                    building.addRole(table.roleAt(ordinal));
+                }
+            }
+            roleRepository.findAll().forEach(role -> {
+                synchronized (writeLock) {
+                    ordinalOf(role);
+                }
+            });
+            shardRouter.forEachShard(shard -> {
+                UUID after = new UUID(0, 0);
+                List<MembershipKeyView> page;
+                do {
+                    page = membershipRepository.findKeysAfter(after, PageRequest.of(0, BUILD_PAGE_SIZE));
+                    synchronized (writeLock) {
+                        for (MembershipKeyView key : page) {
+                            int ordinal = ordinals.getOrDefault(key.getRoleId(), 0);
+                            if (ordinal != 0) {
+                                building = store(building, key.getTeamId(), key.getUserId(), ordinal);
+                            }
+                        }
+                    }
+                    if (!page.isEmpty()) {
+                        after = page.get(page.size() - 1).getId();
+                    }
+                } while (page.size() == BUILD_PAGE_SIZE);
+            });
+            synchronized (writeLock) {
+                building.moveTo(path);
+                table = building;
+                building = null;
+            }
+            log.info("Rebuilt role index in {} ms: {} entries, {} slots",
+                    (System.nanoTime() - started) / 1_000_000, table.size(), table.capacity());
+        } catch (IOException | RuntimeException e) {
+            synchronized (writeLock) {
+                building = null;
+            }
+            log.error("Failed to rebuild role index, serving the previous table", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        MappedMembershipTable current = table;
+        if (current != null) {
+            current.force();
+        }
+    }
+
+    /**
+     * Hashes the JDBC URLs of the shards and the schema version the entries are read from.
+     */
+    private long sourceIdentity() {
+        StringBuilder identity = new StringBuilder();
+        if (shardingProperties.isEnabled()) {
+            shardingProperties.getShards().forEach(shard -> identity.append(shard.getUrl()).append('\n'));
+        } else {
+            identity.append(dataSourceProperties.determineUrl()).append('\n');
+        }
+        Flyway migrations = flyway.getIfAvailable();
+        MigrationInfo schema = migrations == null ? null : migrations.info().current();
+        if (schema != null) {
+            identity.append(schema.getVersion());
+        }
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(identity.toString().getBytes(StandardCharsets.UTF_8)))
+                    .getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long countMemberships() {
+        AtomicLong memberships = new AtomicLong();
+        shardRouter.forEachShard(shard -> memberships.addAndGet(membershipRepository.count()));
+        return memberships.get();
+    }
+
+    private int ordinalOf(Role role) {
+        int ordinal = ordinals.getOrDefault(role.getId(), 0);
+        if (ordinal == 0) {
+            int added = table.addRole(role.getId());
+            if (added == 0) {
+                log.warn("Role index is full at {} roles, role {} is not indexed", properties.getMaxRoles(),
+                        role.getId());
+                return 0;
+            }
+            if (building != null) {
+                building.addRole(role.getId());
+            }
+            ordinals.put(role.getId(), added);
+            ordinal = added;
+        }
+        if (ordinal >= roles.length || roles[ordinal] == null) {
+            Role[] known = Arrays.copyOf(roles, Math.max(roles.length, ordinal + 1));
+            known[ordinal] = role;
+            roles = known;
+        }
+        return ordinal;
+    }
+
+    /**
+     * Stores the entry, doubling the table first when it is full. Returns the table now holding it.
+     */
+    private MappedMembershipTable store(MappedMembershipTable target, UUID teamId, UUID userId, int ordinal) {
+        if (target.put(teamId, userId, ordinal) || full) {
+            return target;
+        }
+        if (target.capacity() >= MappedMembershipTable.MAX_CAPACITY) {
+            full = true;
+            log.warn("Role index reached {} slots, new memberships are not indexed", target.capacity());
+            return target;
+        }
+        try {
+            Path path = target.path();
+            MappedMembershipTable grown = MappedMembershipTable.create(
+                    path.resolveSibling(path.getFileName() + ".grow"), target.capacity() * 2,
+                    properties.getMaxRoles(), target.source());
+            target.copyTo(grown);
+            grown.moveTo(path);
+            grown.put(teamId, userId, ordinal);
+            return grown;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot grow role index " + target.path(), e);
+        }
+    }
+}
@@ -4,17 +4,24 @@ import com.ecore.roles.client.model.Team;
 import com.ecore.roles.exception.ResourceExistsException;
 import com.ecore.roles.exception.ResourceNotFoundException;
 import com.ecore.roles.repository.RoleRepository;
+import com.ecore.roles.repository.routing.MembershipShardRouter;
+import com.ecore.roles.service.MembershipFilterService;
 import com.ecore.roles.service.MembershipsService;
+import com.ecore.roles.service.RoleIndexService;
 import com.ecore.roles.service.RolesService;
 import com.ecore.roles.service.TeamsService;
+import com.ecore.roles.service.event.ResourceChangedEvent;
 import com.ecore.roles.service.model.Membership;
 import com.ecore.roles.service.model.Role;
 import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,14 +37,30 @@ public class RolesServiceImpl implements RolesService {
 
     private final TeamsService teamsService;
 
+    private final MembershipShardRouter shardRouter;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final MembershipFilterService membershipFilterService;
+
+    private final RoleIndexService roleIndexService;
+
     @Autowired
     public RolesServiceImpl(
             RoleRepository roleRepository,
             TeamsService teamsService,
-            @Lazy MembershipsService membershipsService) {
+            @Lazy MembershipsService membershipsService,
+            MembershipShardRouter shardRouter,
+            ApplicationEventPublisher eventPublisher,
+            MembershipFilterService membershipFilterService,
+            RoleIndexService roleIndexService) {
         this.roleRepository = roleRepository;
         this.membershipsService = membershipsService;
         this.teamsService = teamsService;
+        this.shardRouter = shardRouter;
+        this.eventPublisher = eventPublisher;
+        this.membershipFilterService = membershipFilterService;
+        this.roleIndexService = roleIndexService;
     }
 
     @Override
@@ -45,10 +68,34 @@ public class RolesServiceImpl implements RolesService {
         if (roleRepository.findByName(r.getName()).isPresent()) {
             throw new ResourceExistsException(Role.class);
         }
-        return roleRepository.save(r);
+        Role role = roleRepository.save(r);
+        replicate(role);
+        eventPublisher.publishEvent(ResourceChangedEvent.of(Role.class, List.of(role.getId())));
+        return role;
+    }
+
+    /**
+     * Copies a new role to the other shards. The copy is idempotent, so replaying it is safe. If it
+     * fails, the role is removed from every shard again and the request fails, so that no shard is left
+     * without a role that memberships on it may reference.
+     */
+    private void replicate(Role role) {
+        String id = role.getId().toString();
+        try {
+            shardRouter.onOtherShards(() -> roleRepository.insertCopy(id, role.getName()));
+        } catch (RuntimeException e) {
+            log.warn("Could not replicate role {}, removing it", id, e);
+            try {
+                shardRouter.forEachShard(shard -> roleRepository.deleteCopy(id));
+            } catch (RuntimeException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Role getRole(@NonNull UUID rid) {
         return roleRepository.findById(rid)
                 .orElseThrow(() -> new ResourceNotFoundException(Role.class, rid));
@@ -57,17 +104,35 @@ public class RolesServiceImpl implements RolesService {
     @Override
     public Role getRole(@NonNull UUID teamId, @NonNull UUID userId) {
 
+        if (!membershipFilterService.mightExist(teamId, userId)) {
+            throw MembershipsServiceImpl.membershipNotFound(teamId, userId);
+        }
+
         Team team = ofNullable(teamsService.getTeam(teamId))
                 .orElseThrow(() -> new ResourceNotFoundException(Team.class, teamId));
 
+        Role indexed = roleIndexService.findRole(team.getId(), userId);
+        if (indexed != null) {
+            return indexed;
+        }
+
         Membership membership = membershipsService.getMembership(team.getId(), userId);
 
-        return getRole(membership.getRole().getId());
+        Role role = getRole(membership.getRole().getId());
+        roleIndexService.put(team.getId(), userId, role);
+        return role;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Role> getRoles() {
         return roleRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Role> getRoles(@NonNull Collection<UUID> ids) {
+        return roleRepository.findAllById(ids);
+    }
+
 }
@@ -0,0 +1,113 @@
+package com.ecore.roles.service.impl;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.client.model.User;
+import com.ecore.roles.service.DirectoryService;
+import com.ecore.roles.service.SearchService;
+import com.ecore.roles.service.directory.DirectoryIndex;
+import com.ecore.roles.service.directory.SearchIndex;
+import com.ecore.roles.service.event.SnapshotRefreshedEvent;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Search indexes built from the directory snapshots on first use and then patched with the records
+ * each snapshot refresh reports as changed or removed.
+ */
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private final IndexHolder<User> users;
+    private final IndexHolder<Team> teams;
+
+    @Autowired
+    public SearchServiceImpl(DirectoryService directoryService) {
+        this.users = new IndexHolder<>(directoryService::getUsers, new SearchIndex<>(
+                User::getId,
+                user -> Arrays.asList(user.getDisplayName(), user.getFirstName(), user.getLastName()),
+                User::getDisplayName));
+        this.teams = new IndexHolder<>(directoryService::getTeams, new SearchIndex<>(
+                Team::getId,
+                team -> Collections.singletonList(team.getName()),
+                Team::getName));
+    }
+
+    @Override
+    public List<User> searchUsers(@NonNull String query, int limit) {
+        return users.get().search(query, limit);
+    }
+
+    @Override
+    public List<Team> searchTeams(@NonNull String query, int limit) {
+        return teams.get().search(query, limit);
+    }
+
+    @EventListener
+    public void onSnapshotRefreshed(SnapshotRefreshedEvent event) {
+        if (event.getResource() == User.class) {
+            users.apply(event);
+        } else if (event.getResource() == Team.class) {
+            teams.apply(event);
+        }
+    }
+
+    private static class IndexHolder<T> {
+
+        private final Supplier<DirectoryIndex<T>> snapshot;
+        private final SearchIndex<T> index;
+        private volatile boolean built;
+
+        IndexHolder(Supplier<DirectoryIndex<T>> snapshot, SearchIndex<T> index) {
+            this.snapshot = snapshot;
+            this.index = index;
+        }
+
+        /**
+         * Builds the index on first use. The snapshot is resolved before taking the monitor: a first
+         * snapshot load publishes its refresh event into {@link #apply} while holding the snapshot's own
+         * lock.
+         */
+        SearchIndex<T> get() {
+            if (!built) {
+                snapshot.get();
+                synchronized (this) {
+                    if (!built) {
+                        index.putAll(snapshot.get().all());
+                        built = true;
+                    }
+                }
+            }
+            return index;
+        }
+
+        /**
+         * Reconciles the reported ids against the current snapshot, so that events applied out of order
+         * still leave the index matching the latest snapshot.
+         */
+        synchronized void apply(SnapshotRefreshedEvent event) {
+            if (!built) {
+                return;
+            }
+            DirectoryIndex<T> current = snapshot.get();
+            List<T> present = new ArrayList<>();
+            Stream.concat(event.getRemovedIds().stream(), event.getChangedIds().stream()).forEach(id -> {
+                T record = current.get(id);
+                if (record == null) {
+                    index.remove(id);
+                } else {
+                    present.add(record);
+                }
+            });
+            index.putAll(present);
+        }
+    }
+}
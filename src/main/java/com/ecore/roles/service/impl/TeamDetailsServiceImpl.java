@@ -0,0 +1,155 @@
+package com.ecore.roles.service.impl;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.client.model.User;
+import com.ecore.roles.configuration.HydrationConfiguration;
+import com.ecore.roles.configuration.HydrationConfigurationProperties;
+import com.ecore.roles.exception.ResourceNotFoundException;
+import com.ecore.roles.exception.UpstreamTimeoutException;
+import com.ecore.roles.service.MembershipsService;
+import com.ecore.roles.service.RolesService;
+import com.ecore.roles.service.TeamDetailsService;
+import com.ecore.roles.service.TeamsService;
+import com.ecore.roles.service.UsersService;
+import com.ecore.roles.service.model.MembershipView;
+import com.ecore.roles.service.model.Role;
+import com.ecore.roles.service.model.TeamDetails;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.util.Optional.ofNullable;
+
+@Service
+public class TeamDetailsServiceImpl implements TeamDetailsService {
+
+    private final TeamsService teamsService;
+    private final UsersService usersService;
+    private final MembershipsService membershipsService;
+    private final RolesService rolesService;
+    private final Executor hydrationExecutor;
+    private final HydrationConfigurationProperties properties;
+
+    @Autowired
+    public TeamDetailsServiceImpl(
+            TeamsService teamsService,
+            UsersService usersService,
+            MembershipsService membershipsService,
+            RolesService rolesService,
+            @Qualifier(HydrationConfiguration.HYDRATION_EXECUTOR) Executor hydrationExecutor,
+            HydrationConfigurationProperties properties) {
+        this.teamsService = teamsService;
+        this.usersService = usersService;
+        this.membershipsService = membershipsService;
+        this.rolesService = rolesService;
+        this.hydrationExecutor = hydrationExecutor;
+        this.properties = properties;
+    }
+
+    @Override
+    public TeamDetails getTeamDetails(@NonNull UUID teamId, boolean expandMembers, boolean expandRoles) {
+        long deadline = System.nanoTime() + properties.getDeadline().toNanos();
+
+        Team team = ofNullable(teamsService.getTeam(teamId))
+                .orElseThrow(() -> new ResourceNotFoundException(Team.class, teamId));
+        if (!expandMembers && !expandRoles) {
+            return TeamDetails.builder().team(team).build();
+        }
+
+        Set<UUID> memberIds = new LinkedHashSet<>();
+        ofNullable(team.getTeamLeadId()).ifPresent(memberIds::add);
+        ofNullable(team.getTeamMemberIds()).ifPresent(memberIds::addAll);
+
+        Map<UUID, CompletableFuture<User>> users = new LinkedHashMap<>();
+        if (expandMembers) {
+            memberIds.forEach(userId -> users.put(userId, fetchUser(userId)));
+        }
+        Map<UUID, Role> roles = expandRoles ? rolesByUser(teamId) : Map.of();
+
+        await(users.values(), deadline, teamId);
+
+        List<TeamDetails.Member> members = new ArrayList<>(memberIds.size());
+        for (UUID userId : memberIds) {
+            members.add(TeamDetails.Member.builder()
+                    .userId(userId)
+                    .user(expandMembers ? users.get(userId).join() : null)
+                    .role(roles.get(userId))
+                    .build());
+        }
+        return TeamDetails.builder()
+                .team(team)
+                .members(members)
+                .build();
+    }
+
+    /**
+     * Fetches a user on the hydration pool. When the pool is saturated the member is returned without
+     * its user details rather than failing the whole response.
+     */
+    private CompletableFuture<User> fetchUser(UUID userId) {
+        try {
+            return CompletableFuture.supplyAsync(() -> usersService.getUser(userId), hydrationExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private Map<UUID, Role> rolesByUser(UUID teamId) {
+        List<MembershipView> memberships = membershipsService.getTeamMemberships(teamId);
+        Map<UUID, Role> rolesById = rolesService.getRoles(memberships.stream()
+                .map(MembershipView::getRoleId)
+                .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Role::getId, Function.identity()));
+        return memberships.stream()
+                .filter(membership -> rolesById.containsKey(membership.getRoleId()))
+                .collect(Collectors.toMap(MembershipView::getUserId,
+                        membership -> rolesById.get(membership.getRoleId())));
+    }
+
+    private static void await(Iterable<CompletableFuture<User>> users, long deadline, UUID teamId) {
+        List<CompletableFuture<User>> pending = new ArrayList<>();
+        users.forEach(pending::add);
+        CompletableFuture<Void> all = CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new));
+        try {
+            all.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            cancel(pending);
+            throw new UpstreamTimeoutException(Team.class, teamId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(pending);
+            throw new UpstreamTimeoutException(Team.class, teamId);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Cancelling only keeps fetches that are still queued from starting. Fetches already in flight are
+     * not interrupted and end when the upstream client's timeouts fire.
+     */
+    private static void cancel(List<CompletableFuture<User>> pending) {
+        pending.forEach(future -> future.cancel(false));
+    }
+}
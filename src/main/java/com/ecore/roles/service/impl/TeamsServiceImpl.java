@@ -2,28 +2,48 @@ package com.ecore.roles.service.impl;
 
 import com.ecore.roles.client.TeamsClient;
 import com.ecore.roles.client.model.Team;
+import com.ecore.roles.configuration.CacheConfiguration;
+import com.ecore.roles.configuration.CacheConfigurationProperties;
 import com.ecore.roles.service.TeamsService;
+import com.ecore.roles.service.event.ResourceChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 
 @Service
 public class TeamsServiceImpl implements TeamsService {
 
     private final TeamsClient teamsClient;
 
+    private final UpstreamCache<Team> teams;
+
     @Autowired
-    public TeamsServiceImpl(TeamsClient teamsClient) {
+    public TeamsServiceImpl(
+            TeamsClient teamsClient,
+            CacheConfigurationProperties cacheProperties,
+            @Qualifier(CacheConfiguration.REFRESH_EXECUTOR) Executor refreshExecutor,
+            MeterRegistry meterRegistry) {
         this.teamsClient = teamsClient;
+        this.teams = new UpstreamCache<>("teams", cacheProperties.getTeams(), refreshExecutor, meterRegistry,
+                id -> teamsClient.getTeam(id).getBody());
     }
 
     public Team getTeam(UUID id) {
-        return teamsClient.getTeam(id).getBody();
+        return teams.get(id);
     }
 
     public List<Team> getTeams() {
         return teamsClient.getTeams().getBody();
     }
+
+    @EventListener(condition = "#event.resource == T(com.ecore.roles.client.model.Team)")
+    public void onTeamsChanged(ResourceChangedEvent event) {
+        teams.invalidate(event.getIds());
+    }
 }
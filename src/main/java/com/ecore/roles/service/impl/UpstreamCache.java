@@ -0,0 +1,107 @@
+package com.ecore.roles.service.impl;
+
+import com.ecore.roles.configuration.CacheConfigurationProperties;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Refresh-ahead cache of upstream records. A failed refresh keeps serving the cached value until it
+ * expires; a disabled cache calls the loader on every read.
+ */
+class UpstreamCache<V> {
+
+    private final Function<UUID, V> loader;
+    private final LoadingCache<UUID, V> cache;
+
+    UpstreamCache(
+            String name,
+            CacheConfigurationProperties.Spec spec,
+            Executor refreshExecutor,
+            MeterRegistry meterRegistry,
+            Function<UUID, V> loader) {
+        this(name, spec, refreshExecutor, meterRegistry, Ticker.systemTicker(), loader);
+    }
+
+    UpstreamCache(
+            String name,
+            CacheConfigurationProperties.Spec spec,
+            Executor refreshExecutor,
+            MeterRegistry meterRegistry,
+            Ticker ticker,
+            Function<UUID, V> loader) {
+        this.loader = loader;
+        this.cache = spec.isEnabled() ? build(name, spec, refreshExecutor, meterRegistry, ticker) : null;
+    }
+
+    V get(UUID id) {
+        return cache == null ? loader.apply(id) : cache.get(id);
+    }
+
+    /**
+     * Evicts the given ids, or everything when empty. Eviction is local to this instance; other
+     * instances keep their entries until they expire.
+     */
+    void invalidate(Collection<UUID> ids) {
+        if (cache == null) {
+            return;
+        }
+        if (ids.isEmpty()) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidateAll(ids);
+        }
+    }
+
+    private LoadingCache<UUID, V> build(
+            String name,
+            CacheConfigurationProperties.Spec spec,
+            Executor refreshExecutor,
+            MeterRegistry meterRegistry,
+            Ticker ticker) {
+        Counter refreshFailures = Counter.builder("roles.cache.refresh.failures")
+                .tag("cache", name)
+                .register(meterRegistry);
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(spec.getTtl())
+                .executor(refreshExecutor)
+                .ticker(ticker)
+                .recordStats();
+        if (spec.getRefreshAfter().compareTo(Duration.ZERO) > 0) {
+            builder.refreshAfterWrite(spec.getRefreshAfter());
+        }
+        LoadingCache<UUID, V> built = builder.build(new CacheLoader<>() {
+            @Override
+            public V load(UUID id) {
+                return loader.apply(id);
+            }
+
+            /**
+             * Rethrows failures: Caffeine then keeps the old value without resetting its write time, so it
+             * still expires while upstream is down.
+             */
+            @Override
+            public V reload(UUID id, V oldValue) {
+                try {
+                    return loader.apply(id);
+                } catch (RuntimeException e) {
+                    refreshFailures.increment();
+                    throw e;
+                }
+            }
+        });
+        CaffeineCacheMetrics.monitor(meterRegistry, built, name);
+        return built;
+    }
+}
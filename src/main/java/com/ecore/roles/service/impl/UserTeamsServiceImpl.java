@@ -0,0 +1,58 @@
+package com.ecore.roles.service.impl;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.service.DirectoryService;
+import com.ecore.roles.service.UserTeamsService;
+import com.ecore.roles.service.directory.DirectoryIndex;
+import com.ecore.roles.service.directory.TeamMembershipIndex;
+import com.ecore.roles.service.event.SnapshotRefreshedEvent;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Keeps a {@link TeamMembershipIndex} in step with the teams snapshot, applying only the teams each
+ * refresh reports as changed or removed.
+ */
+@Service
+public class UserTeamsServiceImpl implements UserTeamsService {
+
+    private final DirectoryService directoryService;
+    private final TeamMembershipIndex index = new TeamMembershipIndex();
+
+    @Autowired
+    public UserTeamsServiceImpl(DirectoryService directoryService) {
+        this.directoryService = directoryService;
+    }
+
+    @Override
+    public List<Team> getTeams(@NonNull UUID userId) {
+        DirectoryIndex<Team> teams = directoryService.getTeams();
+        List<Team> result = new ArrayList<>();
+        index.forEachTeamId(userId, teamId -> ofNullable(teams.get(teamId)).ifPresent(result::add));
+        return result;
+    }
+
+    @Override
+    public boolean isKnownMember(@NonNull UUID userId, @NonNull UUID teamId) {
+        return index.contains(userId, teamId);
+    }
+
+    @EventListener(condition = "#event.resource == T(com.ecore.roles.client.model.Team)")
+    public void onTeamsRefreshed(SnapshotRefreshedEvent event) {
+        DirectoryIndex<Team> teams = directoryService.getTeams();
+        index.update(event.getRemovedIds(), event.getChangedIds().stream()
+                .map(teams::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+}
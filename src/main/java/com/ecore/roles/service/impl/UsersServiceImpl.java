@@ -2,28 +2,48 @@ package com.ecore.roles.service.impl;
 
 import com.ecore.roles.client.UsersClient;
 import com.ecore.roles.client.model.User;
+import com.ecore.roles.configuration.CacheConfiguration;
+import com.ecore.roles.configuration.CacheConfigurationProperties;
 import com.ecore.roles.service.UsersService;
+import com.ecore.roles.service.event.ResourceChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 
 @Service
 public class UsersServiceImpl implements UsersService {
 
     private final UsersClient usersClient;
 
+    private final UpstreamCache<User> users;
+
     @Autowired
-    public UsersServiceImpl(UsersClient usersClient) {
+    public UsersServiceImpl(
+            UsersClient usersClient,
+            CacheConfigurationProperties cacheProperties,
+            @Qualifier(CacheConfiguration.REFRESH_EXECUTOR) Executor refreshExecutor,
+            MeterRegistry meterRegistry) {
         this.usersClient = usersClient;
+        this.users = new UpstreamCache<>("users", cacheProperties.getUsers(), refreshExecutor, meterRegistry,
+                id -> usersClient.getUser(id).getBody());
     }
 
     public User getUser(UUID id) {
-        return usersClient.getUser(id).getBody();
+        return users.get(id);
     }
 
     public List<User> getUsers() {
         return usersClient.getUsers().getBody();
     }
+
+    @EventListener(condition = "#event.resource == T(com.ecore.roles.client.model.User)")
+    public void onUsersChanged(ResourceChangedEvent event) {
+        users.invalidate(event.getIds());
+    }
 }
@@ -0,0 +1,208 @@
+package com.ecore.roles.service.impl;
+
+import com.ecore.roles.configuration.HydrationConfiguration;
+import com.ecore.roles.configuration.WarmupConfigurationProperties;
+import com.ecore.roles.service.DirectoryService;
+import com.ecore.roles.service.MembershipsService;
+import com.ecore.roles.service.RolesService;
+import com.ecore.roles.service.TeamsService;
+import com.ecore.roles.service.UsersService;
+import com.ecore.roles.service.WarmupService;
+import com.ecore.roles.service.model.MembershipView;
+import com.ecore.roles.service.model.Role;
+import com.ecore.roles.service.model.WarmupStatus;
+import com.ecore.roles.service.model.WarmupStatus.State;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Preloads the role catalogue, runs representative membership queries and primes upstream teams and
+ * users before the instance reports ready. Steps that fail are skipped. Once the budget is spent
+ * the instance reports ready with whatever has been warmed, even while a step is still running.
+ */
+@Log4j2
+@Service
+public class WarmupServiceImpl implements WarmupService {
+
+    private final WarmupConfigurationProperties properties;
+    private final RolesService rolesService;
+    private final MembershipsService membershipsService;
+    private final TeamsService teamsService;
+    private final UsersService usersService;
+    private final DirectoryService directoryService;
+    private final Executor hydrationExecutor;
+
+    private final AtomicReference<State> state;
+    private final List<String> completedSteps = new CopyOnWriteArrayList<>();
+    private final List<String> failedSteps = new CopyOnWriteArrayList<>();
+    private volatile long startedAt;
+    private volatile long deadline;
+    private volatile long finishedAt;
+
+    @Autowired
+    public WarmupServiceImpl(
+            WarmupConfigurationProperties properties,
+            RolesService rolesService,
+            MembershipsService membershipsService,
+            TeamsService teamsService,
+            UsersService usersService,
+            DirectoryService directoryService,
+            @Qualifier(HydrationConfiguration.HYDRATION_EXECUTOR) Executor hydrationExecutor) {
+        this.properties = properties;
+        this.rolesService = rolesService;
+        this.membershipsService = membershipsService;
+        this.teamsService = teamsService;
+        this.usersService = usersService;
+        this.directoryService = directoryService;
+        this.hydrationExecutor = hydrationExecutor;
+        this.state = new AtomicReference<>(properties.isEnabled() ? State.PENDING : State.DISABLED);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (state.get() == State.PENDING) {
+            Thread thread = new Thread(this::warmUp, "warmup");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    public void warmUp() {
+        if (!state.compareAndSet(State.PENDING, State.RUNNING)) {
+            return;
+        }
+        startedAt = System.nanoTime();
+        deadline = startedAt + properties.getBudget().toNanos();
+        try {
+            List<Role> roles = new ArrayList<>();
+            List<MembershipView> sample = new ArrayList<>();
+            step("roles", deadline, () -> roles.addAll(rolesService.getRoles()));
+            step("memberships-by-role", deadline, () -> {
+                for (Role role : roles) {
+                    checkDeadline(deadline);
+                    sample.addAll(
+                            membershipsService.getMemberships(role.getId(), 0, properties.getSampleSize()));
+                }
+            });
+            step("membership-lookups", deadline, () -> prime(deadline, sample,
+                    membership -> membershipsService.getMembership(membership.getTeamId(),
+                            membership.getUserId())));
+            step("directory", deadline, () -> await(deadline, List.of(
+                    CompletableFuture.runAsync(directoryService::getTeams, hydrationExecutor),
+                    CompletableFuture.runAsync(directoryService::getUsers, hydrationExecutor))));
+            step("teams", deadline, () -> prime(deadline, distinct(sample, MembershipView::getTeamId),
+                    teamsService::getTeam));
+            step("users", deadline, () -> prime(deadline, distinct(sample, MembershipView::getUserId),
+                    usersService::getUser));
+            finish(State.COMPLETED);
+        } catch (BudgetExhaustedException e) {
+            log.warn("Warm-up budget of {} exhausted after steps {}", properties.getBudget(), completedSteps);
+            finish(State.TIMED_OUT);
+        }
+    }
+
+    @Override
+    public WarmupStatus getStatus() {
+        if (state.get() == State.RUNNING && System.nanoTime() >= deadline) {
+            finish(State.TIMED_OUT);
+        }
+        State current = state.get();
+        Duration elapsed = Duration.ZERO;
+        if (current != State.PENDING && current != State.DISABLED) {
+            long end = current == State.RUNNING || finishedAt == 0 ? System.nanoTime() : finishedAt;
+            elapsed = Duration.ofNanos(end - startedAt);
+        }
+        return WarmupStatus.builder()
+                .state(current)
+                .completedSteps(List.copyOf(completedSteps))
+                .failedSteps(List.copyOf(failedSteps))
+                .elapsed(elapsed)
+                .build();
+    }
+
+    private void step(String name, long deadline, Runnable body) {
+        checkDeadline(deadline);
+        try {
+            body.run();
+            completedSteps.add(name);
+        } catch (BudgetExhaustedException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.warn("Warm-up step {} failed: {}", name, e.getMessage());
+            failedSteps.add(name);
+        }
+    }
+
+    private <T> void prime(long deadline, Collection<T> items, Consumer<T> loader) {
+        await(deadline, items.stream()
+                .map(item -> CompletableFuture.runAsync(() -> loader.accept(item), hydrationExecutor))
+                .collect(Collectors.toList()));
+    }
+
+    private static void checkDeadline(long deadline) {
+        if (System.nanoTime() >= deadline) {
+            throw new BudgetExhaustedException();
+        }
+    }
+
+    private void await(long deadline, List<CompletableFuture<Void>> futures) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+        try {
+            all.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new BudgetExhaustedException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BudgetExhaustedException();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void finish(State result) {
+        long now = System.nanoTime();
+        if (!state.compareAndSet(State.RUNNING, result)) {
+            return;
+        }
+        finishedAt = now;
+        log.info("Warm-up {} in {} ms, failed steps: {}", result, Duration.ofNanos(finishedAt - startedAt)
+                .toMillis(), failedSteps);
+    }
+
+    private List<UUID> distinct(List<MembershipView> sample, Function<MembershipView, UUID> key) {
+        return sample.stream()
+                .map(key)
+                .distinct()
+                .limit(properties.getPrimeLimit())
+                .collect(Collectors.toList());
+    }
+
+    private static class BudgetExhaustedException extends RuntimeException {
+
+        BudgetExhaustedException() {
+            super(null, null, false, false);
+        }
+    }
+}
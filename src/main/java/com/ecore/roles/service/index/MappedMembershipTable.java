@@ -0,0 +1,298 @@
+package com.ecore.roles.service.index;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Open-addressing hash table in a memory-mapped file, mapping a (team, user) key to a role ordinal.
+ * Ordinals index a role table stored in the same file, so a reopened file resolves to the same
+ * roles.
+ * <p>
+ * The header records the source the entries were read from, as a hash chosen by the caller, and a
+ * watermark of the source's size at the time, so that a file left by a run against another database
+ * is not reused.
+ * <p>
+ * Layout: a 64-byte header, {@code maxRoles} 16-byte role ids, then {@code capacity} 40-byte slots
+ * of four key longs and an ordinal, with linear probing. A slot is published by a release-store of
+ * its ordinal after its key, so lookups need no lock. Writes must be serialised by the caller.
+ * Entries are never removed.
+ */
+public final class MappedMembershipTable {
+
+    public static final int MAX_CAPACITY = 1 << 25;
+
+    private static final long MAGIC = 0x524F4C4549445831L;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 64;
+    private static final int ROLE_SIZE = 16;
+    private static final int SLOT_SIZE = 40;
+    private static final int VALUE_OFFSET = 32;
+    private static final int CAPACITY_OFFSET = 16;
+    private static final int SIZE_OFFSET = 24;
+    private static final int ROLE_COUNT_OFFSET = 32;
+    private static final int SOURCE_OFFSET = 40;
+    private static final int WATERMARK_OFFSET = 48;
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+    private final int maxRoles;
+    private final int slotsOffset;
+    private final int maxSize;
+    private Path path;
+    private int size;
+    private int roleCount;
+
+    private MappedMembershipTable(Path path, MappedByteBuffer buffer, int capacity, int maxRoles) {
+        this.path = path;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.maxRoles = maxRoles;
+        this.slotsOffset = HEADER_SIZE + maxRoles * ROLE_SIZE;
+        this.maxSize = (int) (capacity * 0.75);
+    }
+
+    /**
+     * Maps an existing table file, or creates an empty one when the file is missing, was written with a
+     * different layout or was read from another source.
+     */
+    public static MappedMembershipTable open(Path path, int capacity, int maxRoles, long source)
+            throws IOException {
+        if (Files.isRegularFile(path) && Files.size(path) >= HEADER_SIZE) {
+            MappedMembershipTable existing = map(path, null, maxRoles, source);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return create(path, capacity, maxRoles, source);
+    }
+
+    /**
+     * Creates an empty table, replacing any file at the path. Capacity is rounded up to a power of two.
+     */
+    public static MappedMembershipTable create(Path path, int capacity, int maxRoles, long source)
+            throws IOException {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity " + capacity + " exceeds " + MAX_CAPACITY);
+        }
+        int slots = capacity <= 16 ? 16 : Integer.highestOneBit(capacity - 1) << 1;
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Files.deleteIfExists(path);
+        MappedMembershipTable table = map(path, slots, maxRoles, source);
+        table.buffer.putLong(0, MAGIC);
+        table.buffer.putInt(8, VERSION);
+        table.buffer.putInt(12, maxRoles);
+        table.buffer.putLong(CAPACITY_OFFSET, slots);
+        table.buffer.putLong(SOURCE_OFFSET, source);
+        return table;
+    }
+
+    private static MappedMembershipTable map(Path path, Integer newCapacity, int maxRoles, long source)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int capacity;
+            if (newCapacity == null) {
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+                header.order(ByteOrder.nativeOrder());
+                long storedCapacity = header.getLong(CAPACITY_OFFSET);
+                if (header.getLong(0) != MAGIC || header.getInt(8) != VERSION || header.getInt(12) != maxRoles
+                        || header.getLong(SOURCE_OFFSET) != source
+                        || storedCapacity <= 0 || storedCapacity > MAX_CAPACITY
+                        || Long.bitCount(storedCapacity) != 1
+                        || channel.size() != fileSize((int) storedCapacity, maxRoles)) {
+                    return null;
+                }
+                capacity = (int) storedCapacity;
+            } else {
+                capacity = newCapacity;
+            }
+            MappedByteBuffer buffer =
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity, maxRoles));
+            buffer.order(ByteOrder.nativeOrder());
+            MappedMembershipTable table = new MappedMembershipTable(path, buffer, capacity, maxRoles);
+            table.roleCount = Math.min(buffer.getInt(ROLE_COUNT_OFFSET), maxRoles);
+            table.size = table.countSlots();
+            return table;
+        }
+    }
+
+    private static long fileSize(int capacity, int maxRoles) {
+        long size = HEADER_SIZE + (long) maxRoles * ROLE_SIZE + (long) capacity * SLOT_SIZE;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Table of " + capacity + " slots does not fit one mapping");
+        }
+        return size;
+    }
+
+    /**
+     * Returns the ordinal stored for the key, or 0 when absent. Does not allocate.
+     */
+    public int get(UUID teamId, UUID userId) {
+        long k0 = teamId.getMostSignificantBits();
+        long k1 = teamId.getLeastSignificantBits();
+        long k2 = userId.getMostSignificantBits();
+        long k3 = userId.getLeastSignificantBits();
+        int slot = slotOf(k0, k1, k2, k3);
+        for (int probes = 0; probes < capacity; probes++) {
+            int base = slotsOffset + slot * SLOT_SIZE;
+            long ordinal = (long) LONGS.getAcquire(buffer, base + VALUE_OFFSET);
+            if (ordinal == 0) {
+                return 0;
+            }
+            if (matches(base, k0, k1, k2, k3)) {
+                return (int) ordinal;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * Stores the ordinal for the key. Returns {@code false}, storing nothing, when a new key would push
+     * the table past 75% load.
+     */
+    public boolean put(UUID teamId, UUID userId, int ordinal) {
+        long k0 = teamId.getMostSignificantBits();
+        long k1 = teamId.getLeastSignificantBits();
+        long k2 = userId.getMostSignificantBits();
+        long k3 = userId.getLeastSignificantBits();
+        int slot = slotOf(k0, k1, k2, k3);
+        while (true) {
+            int base = slotsOffset + slot * SLOT_SIZE;
+            long current = (long) LONGS.getAcquire(buffer, base + VALUE_OFFSET);
+            if (current == 0) {
+                if (size >= maxSize) {
+                    return false;
+                }
+                buffer.putLong(base, k0);
+                buffer.putLong(base + 8, k1);
+                buffer.putLong(base + 16, k2);
+                buffer.putLong(base + 24, k3);
+                LONGS.setRelease(buffer, base + VALUE_OFFSET, (long) ordinal);
+                size++;
+                buffer.putLong(SIZE_OFFSET, size);
+                return true;
+            }
+            if (matches(base, k0, k1, k2, k3)) {
+                LONGS.setRelease(buffer, base + VALUE_OFFSET, (long) ordinal);
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Appends a role id and returns its ordinal, starting at 1, or 0 when the role table is full.
+     */
+    public int addRole(UUID roleId) {
+        if (roleCount >= maxRoles) {
+            return 0;
+        }
+        int base = HEADER_SIZE + roleCount * ROLE_SIZE;
+        buffer.putLong(base, roleId.getMostSignificantBits());
+        buffer.putLong(base + 8, roleId.getLeastSignificantBits());
+        roleCount++;
+        buffer.putInt(ROLE_COUNT_OFFSET, roleCount);
+        return roleCount;
+    }
+
+    public UUID roleAt(int ordinal) {
+        int base = HEADER_SIZE + (ordinal - 1) * ROLE_SIZE;
+        return new UUID(buffer.getLong(base), buffer.getLong(base + 8));
+    }
+
+    public long source() {
+        return buffer.getLong(SOURCE_OFFSET);
+    }
+
+    /**
+     * Size of the source when the entries were read from it, 0 until set.
+     */
+    public long watermark() {
+        return buffer.getLong(WATERMARK_OFFSET);
+    }
+
+    public void setWatermark(long watermark) {
+        buffer.putLong(WATERMARK_OFFSET, watermark);
+    }
+
+    public int roleCount() {
+        return roleCount;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * Copies the role table and every entry into another table, which keeps the same ordinals.
+     */
+    public void copyTo(MappedMembershipTable target) {
+        target.setWatermark(watermark());
+        for (int ordinal = target.roleCount + 1; ordinal <= roleCount; ordinal++) {
+            target.addRole(roleAt(ordinal));
+        }
+        for (int slot = 0; slot < capacity; slot++) {
+            int base = slotsOffset + slot * SLOT_SIZE;
+            long ordinal = (long) LONGS.getAcquire(buffer, base + VALUE_OFFSET);
+            if (ordinal != 0) {
+                target.put(new UUID(buffer.getLong(base), buffer.getLong(base + 8)),
+                        new UUID(buffer.getLong(base + 16), buffer.getLong(base + 24)), (int) ordinal);
+            }
+        }
+    }
+
+    public void moveTo(Path target) throws IOException {
+        buffer.force();
+        Files.move(path, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        path = target;
+    }
+
+    public void force() {
+        buffer.force();
+    }
+
+    private int countSlots() {
+        int count = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if ((long) LONGS.getAcquire(buffer, slotsOffset + slot * SLOT_SIZE + VALUE_OFFSET) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean matches(int base, long k0, long k1, long k2, long k3) {
+        return buffer.getLong(base) == k0 && buffer.getLong(base + 8) == k1
+                && buffer.getLong(base + 16) == k2 && buffer.getLong(base + 24) == k3;
+    }
+
+    private int slotOf(long k0, long k1, long k2, long k3) {
+        long h = k0 * 0x9E3779B97F4A7C15L;
+        h = (h ^ k1) * 0xC2B2AE3D27D4EB4FL;
+        h = (h ^ k2) * 0x165667B19E3779F9L;
+        h = (h ^ k3) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecore.roles.service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class DirectoryPage<T> {
+
+    private final List<T> items;
+
+    /**
+     * Cursor of the following page, or {@code null} when this is the last one.
+     */
+    private final String nextCursor;
+
+}
@@ -0,0 +1,38 @@
+package com.ecore.roles.service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+@Builder
+@EqualsAndHashCode
+public class DirectoryQuery {
+
+    /**
+     * Case-insensitive prefix of a team name, or of a user display, first or last name.
+     */
+    private String namePrefix;
+
+    private String location;
+
+    private UUID teamLeadId;
+
+    private String sort;
+
+    private boolean descending;
+
+    /**
+     * Opaque position returned with a previous page; takes precedence over {@code page}.
+     */
+    private String cursor;
+
+    private int page;
+
+    private int size;
+
+}
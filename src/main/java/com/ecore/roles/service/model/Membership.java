@@ -9,6 +9,7 @@ import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Type;
 
 import javax.persistence.*;
+import java.time.Instant;
 import java.util.UUID;
 
 @NoArgsConstructor
@@ -31,9 +32,14 @@ public class Membership {
     private Role role;
 
     @Column(name = "user_id", nullable = false)
+    @Type(type = "uuid-char")
     private UUID userId;
 
     @Column(name = "team_id", nullable = false)
+    @Type(type = "uuid-char")
     private UUID teamId;
 
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private Instant createdAt;
+
 }
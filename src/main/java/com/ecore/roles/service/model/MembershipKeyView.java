@@ -0,0 +1,17 @@
+package com.ecore.roles.service.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface MembershipKeyView {
+
+    UUID getId();
+
+    UUID getTeamId();
+
+    UUID getUserId();
+
+    UUID getRoleId();
+
+    Instant getCreatedAt();
+}
@@ -0,0 +1,14 @@
+package com.ecore.roles.service.model;
+
+import java.util.UUID;
+
+public interface MembershipView {
+
+    UUID getId();
+
+    UUID getRoleId();
+
+    UUID getUserId();
+
+    UUID getTeamId();
+}
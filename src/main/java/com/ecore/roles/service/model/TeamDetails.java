@@ -0,0 +1,39 @@
+package com.ecore.roles.service.model;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.client.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+@Builder
+@EqualsAndHashCode
+public class TeamDetails {
+
+    private Team team;
+
+    /**
+     * Team lead and members in team order, or {@code null} when nothing was expanded.
+     */
+    private List<Member> members;
+
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    @EqualsAndHashCode
+    public static class Member {
+
+        private UUID userId;
+
+        private User user;
+
+        private Role role;
+
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecore.roles.service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+@Builder(toBuilder = true)
+@EqualsAndHashCode
+@ToString
+public class WarmupStatus {
+
+    private State state;
+
+    private List<String> completedSteps;
+
+    private List<String> failedSteps;
+
+    private Duration elapsed;
+
+    public boolean isReady() {
+        return state != State.PENDING && state != State.RUNNING;
+    }
+
+    public enum State {
+        DISABLED,
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        TIMED_OUT
+    }
+}
@@ -0,0 +1,236 @@
+package com.ecore.roles.util;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+/**
+ * Open-addressing table of UUID keys held as (msb, lsb) long pairs in a single array, with linear
+ * probing and backward-shift deletion. An all-zero pair marks an empty slot, so the nil UUID lives
+ * in the extra slot {@code n}; subclasses keep values in parallel arrays of length {@code n + 1}.
+ * Not thread-safe.
+ */
+abstract class UuidHashTable {
+
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MIN_CAPACITY = 2;
+    private static final int MAX_CAPACITY = 1 << 29;
+
+    long[] keys;
+    int n;
+    int size;
+    boolean containsNil;
+    private int mask;
+    private int maxFill;
+
+    UuidHashTable(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Copies the keys of another table; subclasses copy their values.
+     */
+    UuidHashTable(UuidHashTable other) {
+        keys = other.keys.clone();
+        n = other.n;
+        size = other.size;
+        containsNil = other.containsNil;
+        mask = other.mask;
+        maxFill = other.maxFill;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        for (int slot = 0; slot <= n; slot++) {
+            clearValue(slot);
+        }
+        size = 0;
+        containsNil = false;
+    }
+
+    /**
+     * Slot holding the key, or -1 when absent.
+     */
+    final int slot(long msb, long lsb) {
+        if ((msb | lsb) == 0) {
+            return containsNil ? n : -1;
+        }
+        int pos = mix(msb, lsb) & mask;
+        while (true) {
+            long m = keys[2 * pos];
+            long l = keys[2 * pos + 1];
+            if ((m | l) == 0) {
+                return -1;
+            }
+            if (m == msb && l == lsb) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+    }
+
+    /**
+     * Claims a slot for a key known to be absent, growing the table first when needed.
+     */
+    final int insert(long msb, long lsb) {
+        size++;
+        if ((msb | lsb) == 0) {
+            containsNil = true;
+            return n;
+        }
+        if (size > maxFill) {
+            if (n == MAX_CAPACITY) {
+                size--;
+                throw new IllegalStateException("UUID table is full at " + MAX_CAPACITY + " slots");
+            }
+            rehash(n * 2);
+        }
+        int pos = mix(msb, lsb) & mask;
+        while ((keys[2 * pos] | keys[2 * pos + 1]) != 0) {
+            pos = (pos + 1) & mask;
+        }
+        keys[2 * pos] = msb;
+        keys[2 * pos + 1] = lsb;
+        return pos;
+    }
+
+    final void removeAt(int pos) {
+        size--;
+        if (pos == n) {
+            containsNil = false;
+            clearValue(n);
+        } else {
+            shiftKeys(pos);
+        }
+    }
+
+    final void forEachSlot(IntConsumer action) {
+        for (int pos = 0; pos < n; pos++) {
+            if ((keys[2 * pos] | keys[2 * pos + 1]) != 0) {
+                action.accept(pos);
+            }
+        }
+        if (containsNil) {
+            action.accept(n);
+        }
+    }
+
+    final long msbAt(int pos) {
+        return pos == n ? 0 : keys[2 * pos];
+    }
+
+    final long lsbAt(int pos) {
+        return pos == n ? 0 : keys[2 * pos + 1];
+    }
+
+    final UUID keyAt(int pos) {
+        return pos == n ? new UUID(0, 0) : new UUID(keys[2 * pos], keys[2 * pos + 1]);
+    }
+
+    /**
+     * Takes over the keys of another table of the same type, which must not be used afterwards.
+     */
+    final void adopt(UuidHashTable other) {
+        keys = other.keys;
+        n = other.n;
+        size = other.size;
+        containsNil = other.containsNil;
+        mask = other.mask;
+        maxFill = other.maxFill;
+    }
+
+    /**
+     * Replaces the value array with one of the given length and returns the old one.
+     */
+    Object resizeValues(int length) {
+        return null;
+    }
+
+    void copyValue(Object from, int fromSlot, int toSlot) {}
+
+    void moveValue(int fromSlot, int toSlot) {}
+
+    void clearValue(int slot) {}
+
+    static int mix(long msb, long lsb) {
+        long h = (msb ^ Long.rotateLeft(lsb, 32)) * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 29;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void shiftKeys(int pos) {
+        while (true) {
+            int last = pos;
+            pos = (pos + 1) & mask;
+            long m;
+            long l;
+            while (true) {
+                m = keys[2 * pos];
+                l = keys[2 * pos + 1];
+                if ((m | l) == 0) {
+                    keys[2 * last] = 0;
+                    keys[2 * last + 1] = 0;
+                    clearValue(last);
+                    return;
+                }
+                int home = mix(m, l) & mask;
+                if (last <= pos ? last >= home || home > pos : last >= home && home > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[2 * last] = m;
+            keys[2 * last + 1] = l;
+            moveValue(pos, last);
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int oldN = n;
+        Object oldValues = resizeValues(capacity + 1);
+        allocate(capacity);
+        for (int i = 0; i < oldN; i++) {
+            long m = oldKeys[2 * i];
+            long l = oldKeys[2 * i + 1];
+            if ((m | l) != 0) {
+                int pos = mix(m, l) & mask;
+                while ((keys[2 * pos] | keys[2 * pos + 1]) != 0) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[2 * pos] = m;
+                keys[2 * pos + 1] = l;
+                copyValue(oldValues, i, pos);
+            }
+        }
+        if (containsNil) {
+            copyValue(oldValues, oldN, n);
+        }
+    }
+
+    private void allocate(int capacity) {
+        n = capacity;
+        mask = capacity - 1;
+        maxFill = Math.min((int) Math.ceil(capacity * LOAD_FACTOR), capacity - 1);
+        keys = new long[2 * capacity];
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long needed = (long) Math.ceil(expectedSize / LOAD_FACTOR);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Expected size too large: " + expectedSize);
+        }
+        return needed <= MIN_CAPACITY ? MIN_CAPACITY : Integer.highestOneBit((int) needed - 1) << 1;
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecore.roles.util;
+
+import java.util.UUID;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Map from UUID to {@code int} with keys stored as primitive long pairs and unboxed values.
+ */
+public class UuidIntMap extends UuidHashTable {
+
+    private int[] values;
+
+    public UuidIntMap() {
+        this(8);
+    }
+
+    public UuidIntMap(int expectedSize) {
+        super(expectedSize);
+        values = new int[n + 1];
+    }
+
+    public boolean containsKey(UUID key) {
+        return slot(key.getMostSignificantBits(), key.getLeastSignificantBits()) >= 0;
+    }
+
+    public int getOrDefault(UUID key, int defaultValue) {
+        return getOrDefault(key.getMostSignificantBits(), key.getLeastSignificantBits(), defaultValue);
+    }
+
+    public int getOrDefault(long msb, long lsb, int defaultValue) {
+        int pos = slot(msb, lsb);
+        return pos < 0 ? defaultValue : values[pos];
+    }
+
+    public void put(UUID key, int value) {
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        int pos = slot(msb, lsb);
+        if (pos < 0) {
+            pos = insert(msb, lsb);
+        }
+        values[pos] = value;
+    }
+
+    /**
+     * Adds to the value of the key, starting from 0 when absent, and returns the new value.
+     */
+    public int addTo(UUID key, int increment) {
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        int pos = slot(msb, lsb);
+        if (pos < 0) {
+            pos = insert(msb, lsb);
+        }
+        values[pos] += increment;
+        return values[pos];
+    }
+
+    public boolean remove(UUID key) {
+        int pos = slot(key.getMostSignificantBits(), key.getLeastSignificantBits());
+        if (pos < 0) {
+            return false;
+        }
+        removeAt(pos);
+        return true;
+    }
+
+    public void forEach(ObjIntConsumer<UUID> action) {
+        forEachSlot(pos -> action.accept(keyAt(pos), values[pos]));
+    }
+
+    @Override
+    Object resizeValues(int length) {
+        int[] old = values;
+        values = new int[length];
+        return old;
+    }
+
+    @Override
+    void copyValue(Object from, int fromSlot, int toSlot) {
+        values[toSlot] = ((int[]) from)[fromSlot];
+    }
+
+    @Override
+    void moveValue(int fromSlot, int toSlot) {
+        values[toSlot] = values[fromSlot];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        values[slot] = 0;
+    }
+}
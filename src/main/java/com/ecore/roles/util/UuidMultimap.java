@@ -0,0 +1,76 @@
+package com.ecore.roles.util;
+
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Map from UUID to a set of UUIDs. Keys whose last value is removed are dropped.
+ */
+public class UuidMultimap {
+
+    private final UuidObjectMap<UuidSet> sets;
+    private int size;
+
+    public UuidMultimap() {
+        this(8);
+    }
+
+    public UuidMultimap(int expectedKeys) {
+        this.sets = new UuidObjectMap<>(expectedKeys);
+    }
+
+    public boolean put(UUID key, UUID value) {
+        if (sets.computeIfAbsent(key, () -> new UuidSet(1)).add(value)) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    public boolean remove(UUID key, UUID value) {
+        UuidSet values = sets.get(key);
+        if (values == null || !values.remove(value)) {
+            return false;
+        }
+        size--;
+        if (values.isEmpty()) {
+            sets.remove(key);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the key and returns its values, or {@code null} when absent.
+     */
+    public UuidSet removeAll(UUID key) {
+        UuidSet values = sets.remove(key);
+        if (values != null) {
+            size -= values.size();
+        }
+        return values;
+    }
+
+    public boolean containsEntry(UUID key, UUID value) {
+        UuidSet values = sets.get(key);
+        return values != null && values.contains(value);
+    }
+
+    /**
+     * Values of the key, or {@code null} when absent. The set is live and must not be modified.
+     */
+    public UuidSet get(UUID key) {
+        return sets.get(key);
+    }
+
+    public int keyCount() {
+        return sets.size();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(BiConsumer<UUID, UuidSet> action) {
+        sets.forEach(action);
+    }
+}
@@ -0,0 +1,132 @@
+package com.ecore.roles.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Map from UUID to object with keys stored as primitive long pairs, without a {@link UUID} object
+ * or entry per mapping. {@code null} values are not supported.
+ */
+public class UuidObjectMap<V> extends UuidHashTable {
+
+    private Object[] values;
+
+    public UuidObjectMap() {
+        this(8);
+    }
+
+    public UuidObjectMap(int expectedSize) {
+        super(expectedSize);
+        values = new Object[n + 1];
+    }
+
+    /**
+     * Copies another map. The values themselves are shared.
+     */
+    public UuidObjectMap(UuidObjectMap<V> other) {
+        super(other);
+        values = other.values.clone();
+    }
+
+    public boolean containsKey(UUID key) {
+        return slot(key.getMostSignificantBits(), key.getLeastSignificantBits()) >= 0;
+    }
+
+    public V get(UUID key) {
+        return get(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long msb, long lsb) {
+        int pos = slot(msb, lsb);
+        return pos < 0 ? null : (V) values[pos];
+    }
+
+    /**
+     * Maps the key to the value and returns the previous value, or {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(UUID key, V value) {
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        int pos = slot(msb, lsb);
+        if (pos < 0) {
+            pos = insert(msb, lsb);
+            values[pos] = value;
+            return null;
+        }
+        V previous = (V) values[pos];
+        values[pos] = value;
+        return previous;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(UUID key, Supplier<V> factory) {
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        int pos = slot(msb, lsb);
+        if (pos >= 0) {
+            return (V) values[pos];
+        }
+        V value = factory.get();
+        pos = insert(msb, lsb);
+        values[pos] = value;
+        return value;
+    }
+
+    /**
+     * Removes the key and returns its value, or {@code null} when absent.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(UUID key) {
+        int pos = slot(key.getMostSignificantBits(), key.getLeastSignificantBits());
+        if (pos < 0) {
+            return null;
+        }
+        V previous = (V) values[pos];
+        removeAt(pos);
+        return previous;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<UUID, V> action) {
+        forEachSlot(pos -> action.accept(keyAt(pos), (V) values[pos]));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<V> action) {
+        forEachSlot(pos -> action.accept((V) values[pos]));
+    }
+
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        forEachValue(result::add);
+        return result;
+    }
+
+    @Override
+    Object resizeValues(int length) {
+        Object[] old = values;
+        values = new Object[length];
+        return old;
+    }
+
+    @Override
+    void copyValue(Object from, int fromSlot, int toSlot) {
+        values[toSlot] = ((Object[]) from)[fromSlot];
+    }
+
+    @Override
+    void moveValue(int fromSlot, int toSlot) {
+        values[toSlot] = values[fromSlot];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        values[slot] = null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecore.roles.util;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Set of UUIDs stored as primitive long pairs, without a {@link UUID} object or map entry per
+ * element.
+ */
+public class UuidSet extends UuidHashTable {
+
+    public UuidSet() {
+        this(8);
+    }
+
+    public UuidSet(int expectedSize) {
+        super(expectedSize);
+    }
+
+    public static UuidSet copyOf(Collection<UUID> ids) {
+        UuidSet set = new UuidSet(ids.size());
+        ids.forEach(set::add);
+        return set;
+    }
+
+    public boolean add(UUID id) {
+        return add(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    public boolean add(long msb, long lsb) {
+        if (slot(msb, lsb) >= 0) {
+            return false;
+        }
+        insert(msb, lsb);
+        return true;
+    }
+
+    public void addAll(UuidSet other) {
+        other.forEachSlot(pos -> add(other.msbAt(pos), other.lsbAt(pos)));
+    }
+
+    public boolean contains(UUID id) {
+        return contains(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    public boolean contains(long msb, long lsb) {
+        return slot(msb, lsb) >= 0;
+    }
+
+    public boolean remove(UUID id) {
+        int pos = slot(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (pos < 0) {
+            return false;
+        }
+        removeAt(pos);
+        return true;
+    }
+
+    /**
+     * Keeps only the elements also in {@code other}. Returns {@code true} when this set changed.
+     */
+    public boolean retainAll(UuidSet other) {
+        UuidSet kept = new UuidSet(Math.min(size, other.size));
+        forEachSlot(pos -> {
+            if (other.contains(msbAt(pos), lsbAt(pos))) {
+                kept.insert(msbAt(pos), lsbAt(pos));
+            }
+        });
+        if (kept.size == size) {
+            return false;
+        }
+        adopt(kept);
+        return true;
+    }
+
+    public void forEach(Consumer<UUID> action) {
+        forEachSlot(pos -> action.accept(keyAt(pos)));
+    }
+
+    public Set<UUID> toSet() {
+        Set<UUID> ids = new HashSet<>(size * 4 / 3 + 1);
+        forEach(ids::add);
+        return ids;
+    }
+}
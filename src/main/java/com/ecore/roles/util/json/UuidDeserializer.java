@@ -0,0 +1,79 @@
+package com.ecore.roles.util.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.UUIDDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Parses canonical 36-character UUIDs straight from the parser's character buffer, without building
+ * a String. Other forms and malformed input are left to Jackson's own deserializer.
+ */
+public class UuidDeserializer extends StdScalarDeserializer<UUID> {
+
+    private static final int[] DIGITS = new int[128];
+    private static final UUIDDeserializer FALLBACK = new UUIDDeserializer();
+
+    static {
+        Arrays.fill(DIGITS, -1);
+        for (int i = 0; i < 10; i++) {
+            DIGITS['0' + i] = i;
+        }
+        for (int i = 0; i < 6; i++) {
+            DIGITS['a' + i] = 10 + i;
+            DIGITS['A' + i] = 10 + i;
+        }
+    }
+
+    public UuidDeserializer() {
+        super(UUID.class);
+    }
+
+    @Override
+    public UUID deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING) && p.getTextLength() == 36) {
+            UUID parsed = parse(p.getTextCharacters(), p.getTextOffset());
+            if (parsed != null) {
+                return parsed;
+            }
+        }
+        return FALLBACK.deserialize(p, ctxt);
+    }
+
+    /**
+     * The UUID in the 36 characters at {@code offset}, or {@code null} when they are not canonical.
+     */
+    static UUID parse(char[] text, int offset) {
+        if (text[offset + 8] != '-' || text[offset + 13] != '-' || text[offset + 18] != '-'
+                || text[offset + 23] != '-') {
+            return null;
+        }
+        long high = hex(text, offset, 8);
+        long mid = hex(text, offset + 9, 4);
+        long low = hex(text, offset + 14, 4);
+        long sequence = hex(text, offset + 19, 4);
+        long node = hex(text, offset + 24, 12);
+        if ((high | mid | low | sequence | node) < 0) {
+            return null;
+        }
+        return new UUID(high << 32 | mid << 16 | low, sequence << 48 | node);
+    }
+
+    private static long hex(char[] text, int offset, int digits) {
+        long value = 0;
+        for (int i = offset; i < offset + digits; i++) {
+            char c = text[i];
+            int digit = c < 128 ? DIGITS[c] : -1;
+            if (digit < 0) {
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+}
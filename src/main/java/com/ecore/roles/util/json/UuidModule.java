@@ -0,0 +1,14 @@
+package com.ecore.roles.util.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.util.UUID;
+
+public class UuidModule extends SimpleModule {
+
+    public UuidModule() {
+        super(UuidModule.class.getSimpleName());
+        addSerializer(UUID.class, new UuidSerializer());
+        addDeserializer(UUID.class, new UuidDeserializer());
+    }
+}
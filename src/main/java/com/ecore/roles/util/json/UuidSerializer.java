@@ -0,0 +1,61 @@
+package com.ecore.roles.util.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Writes a UUID as its canonical 36-character form, formatting the hex digits from the two longs
+ * into a per-thread buffer that the generator copies. Formats with native binary support, such as
+ * Smile and CBOR, get the 16 raw bytes, as with Jackson's own serializer.
+ */
+public class UuidSerializer extends StdScalarSerializer<UUID> {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[36]);
+
+    public UuidSerializer() {
+        super(UUID.class);
+    }
+
+    @Override
+    public void serialize(UUID value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        long msb = value.getMostSignificantBits();
+        long lsb = value.getLeastSignificantBits();
+        if (gen.canWriteBinaryNatively() && !(gen instanceof TokenBuffer)) {
+            byte[] bytes = new byte[16];
+            for (int i = 0; i < 8; i++) {
+                bytes[i] = (byte) (msb >>> (56 - 8 * i));
+                bytes[8 + i] = (byte) (lsb >>> (56 - 8 * i));
+            }
+            gen.writeBinary(bytes);
+            return;
+        }
+        char[] text = BUFFER.get();
+        format(msb, lsb, text);
+        gen.writeString(text, 0, 36);
+    }
+
+    static void format(long msb, long lsb, char[] out) {
+        hex(msb >>> 32, out, 0, 8);
+        out[8] = '-';
+        hex(msb >>> 16, out, 9, 4);
+        out[13] = '-';
+        hex(msb, out, 14, 4);
+        out[18] = '-';
+        hex(lsb >>> 48, out, 19, 4);
+        out[23] = '-';
+        hex(lsb, out, 24, 12);
+    }
+
+    private static void hex(long value, char[] out, int offset, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            out[i] = HEX[(int) value & 0xF];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecore.roles.web;
+
+import com.ecore.roles.web.dto.CacheInvalidationDto;
+import org.springframework.http.ResponseEntity;
+
+public interface CacheInvalidationsApi {
+
+    ResponseEntity<Void> invalidate(
+            String token,
+            CacheInvalidationDto invalidation);
+}
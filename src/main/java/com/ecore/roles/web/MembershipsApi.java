@@ -12,6 +12,8 @@ public interface MembershipsApi {
             MembershipDto membership);
 
     ResponseEntity<List<MembershipDto>> getMemberships(
-            UUID roleId);
+            UUID roleId,
+            Integer page,
+            Integer size);
 
 }
@@ -0,0 +1,12 @@
+package com.ecore.roles.web;
+
+import com.ecore.roles.web.dto.SearchResultDto;
+import org.springframework.http.ResponseEntity;
+
+public interface SearchApi {
+
+    ResponseEntity<SearchResultDto> search(
+            String query,
+            String type,
+            Integer limit);
+}
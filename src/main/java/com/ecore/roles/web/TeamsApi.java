@@ -4,12 +4,19 @@ import com.ecore.roles.web.dto.TeamDto;
 import org.springframework.http.ResponseEntity;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface TeamsApi {
 
-    ResponseEntity<List<TeamDto>> getTeams();
+    ResponseEntity<List<TeamDto>> getTeams(
+            Integer page,
+            Integer size,
+            String sort,
+            String cursor,
+            String name,
+            UUID teamLead);
 
-    ResponseEntity<TeamDto> getTeam(UUID teamId);
+    ResponseEntity<TeamDto> getTeam(UUID teamId, Set<String> expand);
 
 }
@@ -1,5 +1,6 @@
 package com.ecore.roles.web;
 
+import com.ecore.roles.web.dto.TeamDto;
 import com.ecore.roles.web.dto.UserDto;
 import org.springframework.http.ResponseEntity;
 
@@ -8,7 +9,15 @@ import java.util.UUID;
 
 public interface UsersApi {
 
-    ResponseEntity<List<UserDto>> getUsers();
+    ResponseEntity<List<UserDto>> getUsers(
+            Integer page,
+            Integer size,
+            String sort,
+            String cursor,
+            String name,
+            String location);
 
     ResponseEntity<UserDto> getUser(UUID userId);
+
+    ResponseEntity<List<TeamDto>> getUserTeams(UUID userId);
 }
@@ -0,0 +1,37 @@
+package com.ecore.roles.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.UUID;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+public class CacheInvalidationDto {
+
+    @JsonProperty
+    @NotNull
+    private Resource resource;
+
+    /**
+     * Changed identifiers; absent or empty invalidates every cached record of the resource.
+     */
+    @JsonProperty
+    private List<UUID> ids;
+
+    public enum Resource {
+        TEAMS,
+        USERS
+    }
+}
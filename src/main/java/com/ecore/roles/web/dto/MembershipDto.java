@@ -1,6 +1,7 @@
 package com.ecore.roles.web.dto;
 
 import com.ecore.roles.service.model.Membership;
+import com.ecore.roles.service.model.MembershipView;
 import com.ecore.roles.service.model.Role;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
@@ -57,6 +58,18 @@ public class MembershipDto {
                 .build();
     }
 
+    public static MembershipDto fromView(MembershipView membership) {
+        if (membership == null) {
+            return null;
+        }
+        return MembershipDto.builder()
+                .id(membership.getId())
+                .roleId(membership.getRoleId())
+                .userId(membership.getUserId())
+                .teamId(membership.getTeamId())
+                .build();
+    }
+
     public Membership toModel() {
         return Membership.builder()
                 .id(this.id)
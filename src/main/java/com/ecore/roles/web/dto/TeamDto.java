@@ -1,6 +1,7 @@
 package com.ecore.roles.web.dto;
 
 import com.ecore.roles.client.model.Team;
+import com.ecore.roles.service.model.TeamDetails;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
@@ -12,6 +13,7 @@ import lombok.Setter;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,6 +37,10 @@ public class TeamDto {
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<UUID> teamMemberIds;
 
+    @JsonProperty
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<TeamMemberDto> members;
+
     public static TeamDto fromModel(Team team) {
         if (team == null) {
             return null;
@@ -46,4 +52,14 @@ public class TeamDto {
                 .teamMemberIds(team.getTeamMemberIds())
                 .build();
     }
+
+    public static TeamDto fromModel(TeamDetails details) {
+        TeamDto team = fromModel(details.getTeam());
+        if (team != null && details.getMembers() != null) {
+            team.setMembers(details.getMembers().stream()
+                    .map(TeamMemberDto::fromModel)
+                    .collect(Collectors.toList()));
+        }
+        return team;
+    }
 }
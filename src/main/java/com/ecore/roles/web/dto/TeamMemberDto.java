@@ -0,0 +1,44 @@
+package com.ecore.roles.web.dto;
+
+import com.ecore.roles.service.model.TeamDetails;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+public class TeamMemberDto {
+
+    @JsonProperty
+    private UUID userId;
+
+    @JsonProperty
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private UserDto user;
+
+    @JsonProperty
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private RoleDto role;
+
+    public static TeamMemberDto fromModel(TeamDetails.Member member) {
+        if (member == null) {
+            return null;
+        }
+        return TeamMemberDto.builder()
+                .userId(member.getUserId())
+                .user(UserDto.fromModel(member.getUser()))
+                .role(RoleDto.fromModel(member.getRole()))
+                .build();
+    }
+}
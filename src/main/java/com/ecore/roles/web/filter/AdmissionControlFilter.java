@@ -0,0 +1,74 @@
+package com.ecore.roles.web.filter;
+
+import com.ecore.roles.configuration.AdmissionControlConfigurationProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests processed concurrently across all clients and sheds the rest with a
+ * 503.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionControlConfigurationProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+    private final Counter rejections;
+
+    public AdmissionControlFilter(
+            AdmissionControlConfigurationProperties properties,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(properties.getMaxConcurrentRequests());
+        this.rejections = Counter.builder("roles.http.rejected")
+                .description("Requests rejected before reaching a controller")
+                .tag("reason", "admission")
+                .register(meterRegistry);
+        Gauge.builder("roles.http.in_flight", this,
+                filter -> properties.getMaxConcurrentRequests() - filter.permits.availablePermits())
+                .description("Requests currently admitted")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain)
+            throws ServletException, IOException {
+        if (!acquire()) {
+            rejections.increment();
+            FilterResponses.reject(response, objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Service is overloaded", 1);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(properties.getMaxQueueWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
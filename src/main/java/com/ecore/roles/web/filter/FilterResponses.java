@@ -0,0 +1,61 @@
+package com.ecore.roles.web.filter;
+
+import com.ecore.roles.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+final class FilterResponses {
+
+    private static final Set<String> REWRITTEN_HEADERS = Set.of(
+            HttpHeaders.CONTENT_TYPE.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.CONTENT_ENCODING.toLowerCase(),
+            HttpHeaders.VARY.toLowerCase());
+
+    private FilterResponses() {}
+
+    static void reject(
+            HttpServletResponse response,
+            ObjectMapper objectMapper,
+            HttpStatus status,
+            String error,
+            long retryAfterSeconds) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfterSeconds)));
+        error(response, objectMapper, status, error);
+    }
+
+    static void error(
+            HttpServletResponse response,
+            ObjectMapper objectMapper,
+            HttpStatus status,
+            String error) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .status(status.value())
+                .error(error)
+                .build());
+    }
+
+    /**
+     * Headers of a buffered response that a replay copies as they are. Content headers are rewritten
+     * when the body is written.
+     */
+    static Map<String, String> headers(HttpServletResponse response) {
+        Map<String, String> headers = new HashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!REWRITTEN_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, response.getHeader(name));
+            }
+        }
+        return headers;
+    }
+}
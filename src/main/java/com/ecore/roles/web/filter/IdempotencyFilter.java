@@ -0,0 +1,164 @@
+package com.ecore.roles.web.filter;
+
+import com.ecore.roles.configuration.IdempotencyConfigurationProperties;
+import com.ecore.roles.web.filter.IdempotencyStore.Entry;
+import com.ecore.roles.web.filter.IdempotencyStore.Key;
+import com.ecore.roles.web.filter.IdempotencyStore.StoredResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Honours an idempotency key on resource creation. The first request with a key executes and its
+ * response, unless a server error, is replayed to retries without running the controller.
+ * Duplicates that arrive while it is in flight wait for it, holding the admission permit they were
+ * given, so the filter must run after admission control. Keys are scoped to the client's address,
+ * resolved through trusted proxies, since the API key header is not authenticated. Reusing a key
+ * with a different body is rejected.
+ * <p>
+ * Where no address identifies the client, keys are scoped to the request body instead. Clients then
+ * only share a key's response when they send the same key with the same body, and reusing a key
+ * with a different body executes it as a new request rather than being rejected.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final Set<String> IDEMPOTENT_PATHS = Set.of("/v1/memberships", "/v1/roles");
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyConfigurationProperties properties;
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Counter replays;
+
+    public IdempotencyFilter(
+            IdempotencyConfigurationProperties properties,
+            IdempotencyStore store,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.replays = Counter.builder("roles.idempotency.replays")
+                .description("Requests answered with the stored response of an earlier request")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !IDEMPOTENT_PATHS.contains(request.getRequestURI())
+                || request.getHeader(properties.getHeader()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(properties.getHeader());
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > properties.getMaxKeyLength()) {
+            FilterResponses.error(response, objectMapper, HttpStatus.BAD_REQUEST, String.format(
+                    "%s must be 1 to %d characters", properties.getHeader(), properties.getMaxKeyLength()));
+            return;
+        }
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        Entry entry = new Entry(fingerprint(body));
+        Key key = new Key(request.getRequestURI(),
+                properties.isScopeToClientAddress()
+                        ? request.getRemoteAddr()
+                        : Base64.getEncoder().encodeToString(entry.getFingerprint()),
+                idempotencyKey);
+
+        while (true) {
+            Entry original = store.claim(key, entry);
+            if (original == null) {
+                execute(new CachedBodyRequest(request, body), response, chain, key, entry);
+                return;
+            }
+            if (!MessageDigest.isEqual(original.getFingerprint(), entry.getFingerprint())) {
+                FilterResponses.error(response, objectMapper, HttpStatus.UNPROCESSABLE_ENTITY,
+                        properties.getHeader() + " was already used with a different request body");
+                return;
+            }
+            StoredResponse stored;
+            try {
+                stored = original.getResponse().get(properties.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | InterruptedException e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                FilterResponses.reject(response, objectMapper, HttpStatus.CONFLICT,
+                        "A request with this " + properties.getHeader() + " is still in progress",
+                        properties.getMaxWait().toSeconds());
+                return;
+            } catch (ExecutionException e) {
+                stored = null;
+            }
+            if (stored != null) {
+                replays.increment();
+                replay(response, stored);
+                return;
+            }
+            // The original failed without a response worth keeping; claim the key again.
+        }
+    }
+
+    private void execute(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain,
+            Key key,
+            Entry entry)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            chain.doFilter(request, wrapper);
+            if (wrapper.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                stored = new StoredResponse(wrapper.getStatus(), wrapper.getContentType(),
+                        FilterResponses.headers(wrapper), wrapper.getContentAsByteArray());
+            }
+        } finally {
+            store.complete(key, entry, stored);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private static void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        stored.getHeaders().forEach(response::setHeader);
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private static byte[] fingerprint(byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.ecore.roles.web.filter;
+
+import com.ecore.roles.configuration.IdempotencyConfigurationProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * First responses to idempotent writes, keyed by path, client address and idempotency key. An entry
+ * is claimed before the request executes, so duplicates find it while the original is in flight.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final Cache<Key, Entry> entries;
+
+    public IdempotencyStore(IdempotencyConfigurationProperties properties, MeterRegistry meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaxKeys())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "idempotentResponses");
+    }
+
+    /**
+     * Claims the key for the entry. Returns {@code null} when the caller owns it and must execute the
+     * request, or the entry of the original request otherwise.
+     */
+    Entry claim(Key key, Entry entry) {
+        return entries.asMap().putIfAbsent(key, entry);
+    }
+
+    /**
+     * Publishes the response of a claimed entry. Without a response the claim is released, so that a
+     * retry executes the request again.
+     */
+    void complete(Key key, Entry entry, StoredResponse response) {
+        if (response == null) {
+            entries.asMap().remove(key, entry);
+        }
+        entry.getResponse().complete(response);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    static class Key {
+
+        private final String path;
+
+        /**
+         * The client's address, or the request body fingerprint when addresses are not trusted.
+         */
+        private final String scope;
+        private final String idempotencyKey;
+
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class Entry {
+
+        private final byte[] fingerprint;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class StoredResponse {
+
+        private final int status;
+        private final String contentType;
+        private final Map<String, String> headers;
+        private final byte[] body;
+
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecore.roles.web.filter;
+
+import com.ecore.roles.configuration.RateLimitConfigurationProperties;
+import com.ecore.roles.configuration.RateLimitConfigurationProperties.Budget;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket rate limiting per client. Every request draws from the budget of its IP address and,
+ * when it carries an API key, also from the budget of that key; it is admitted only when both have
+ * a token, and a rejected request spends neither. The key is not authenticated here, so it only
+ * ever narrows the limit: a fresh key per request still runs into the address budget. Reads and
+ * writes draw from separate budgets.
+ * <p>
+ * The address is the client's as reported by trusted proxies
+ * ({@code server.forward-headers-strategy}), so that clients behind a load balancer do not share
+ * its address.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitConfigurationProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, TokenBucket> buckets;
+    private final Counter rejections;
+
+    public RateLimitFilter(
+            RateLimitConfigurationProperties properties,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getIdleClientExpiry())
+                .build();
+        this.rejections = Counter.builder("roles.http.rejected")
+                .description("Requests rejected before reaching a controller")
+                .tag("reason", "rate_limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain)
+            throws ServletException, IOException {
+        boolean read = isRead(request);
+        Budget budget = read ? properties.getRead() : properties.getWrite();
+        String prefix = read ? "r:" : "w:";
+        long now = System.nanoTime();
+
+        TokenBucket address = bucket(prefix + "ip:" + request.getRemoteAddr(), budget, now);
+        String apiKey = request.getHeader(properties.getApiKeyHeader());
+        long waitNanos = apiKey == null || apiKey.isBlank()
+                ? address.tryConsume(now)
+                : TokenBucket.tryConsume(address, bucket(prefix + "key:" + apiKey, budget, now), now);
+        if (waitNanos > 0) {
+            rejections.increment();
+            FilterResponses.reject(response, objectMapper, HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many requests", divideRoundingUp(waitNanos, TimeUnit.SECONDS.toNanos(1)));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private TokenBucket bucket(String key, Budget budget, long now) {
+        return buckets.get(key, k -> new TokenBucket(budget.getCapacity(), budget.getRefillPerSecond(), now));
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method)
+                || HttpMethod.HEAD.matches(method)
+                || HttpMethod.OPTIONS.matches(method);
+    }
+
+    private static long divideRoundingUp(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecore.roles.web.filter;
+
+import com.ecore.roles.repository.routing.ReadYourWritesContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Carries a client's read-your-writes deadline between its requests. A request that commits a write
+ * gets the deadline in the {@value #HEADER} response header; when the client sends it back, its
+ * reads go to the primary until then. Clients that do not send it read from the replica.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Read-Primary-Until";
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain)
+            throws ServletException, IOException {
+        ReadYourWritesContextHolder.open(primaryUntil(request), window, deadline -> {
+            if (!response.isCommitted()) {
+                response.setHeader(HEADER, Long.toString(deadline));
+            }
+        });
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContextHolder.close();
+        }
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+        String value = request.getHeader(HEADER);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
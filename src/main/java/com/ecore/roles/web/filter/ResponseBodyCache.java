@@ -0,0 +1,131 @@
+package com.ecore.roles.web.filter;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.configuration.ResponseCacheConfigurationProperties;
+import com.ecore.roles.service.event.ResourceChangedEvent;
+import com.ecore.roles.service.event.SnapshotRefreshedEvent;
+import com.ecore.roles.service.model.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialised bodies of hot read endpoints, keyed by path, query string and requested media type.
+ */
+@Component
+public class ResponseBodyCache {
+
+    static final Map<String, Class<?>> CACHEABLE_PATHS = Map.of(
+            "/v1/roles", Role.class,
+            "/v1/teams", Team.class);
+
+    private final ResponseCacheConfigurationProperties properties;
+    private final Cache<Key, CachedBody> bodies;
+    private final Map<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ResponseBodyCache(ResponseCacheConfigurationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bodies = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((Key key, CachedBody body) -> body.weight())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bodies, "responseBodies");
+        CACHEABLE_PATHS.values().forEach(resource -> generations.put(resource, new AtomicLong()));
+    }
+
+    static boolean isCacheable(String path) {
+        return CACHEABLE_PATHS.containsKey(path);
+    }
+
+    CachedBody get(Key key) {
+        return bodies.getIfPresent(key);
+    }
+
+    long generation(String path) {
+        return generations.get(CACHEABLE_PATHS.get(path)).get();
+    }
+
+    /**
+     * Stores a body unless the backing data changed since {@code generation} was read, so that a
+     * response computed from stale data cannot overwrite an invalidation.
+     */
+    void put(Key key, long generation, String contentType, Map<String, String> headers, byte[] body) {
+        byte[] gzipped =
+                properties.isPrecompress() && body.length >= properties.getPrecompressMinSize().toBytes()
+                        ? gzip(body)
+                        : null;
+        bodies.asMap().compute(key, (k, current) -> generation(key.getPath()) == generation
+                ? new CachedBody(contentType, Map.copyOf(headers), body, gzipped)
+                : current);
+    }
+
+    @EventListener
+    public void onResourceChanged(ResourceChangedEvent event) {
+        invalidate(event.getResource());
+    }
+
+    @EventListener
+    public void onSnapshotRefreshed(SnapshotRefreshedEvent event) {
+        invalidate(event.getResource());
+    }
+
+    private void invalidate(Class<?> resource) {
+        AtomicLong generation = generations.get(resource);
+        if (generation == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        bodies.asMap().keySet().removeIf(key -> CACHEABLE_PATHS.get(key.getPath()) == resource);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    static class Key {
+
+        private final String path;
+        private final String query;
+        private final String accept;
+
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class CachedBody {
+
+        private final String contentType;
+        private final Map<String, String> headers;
+        private final byte[] body;
+        private final byte[] gzippedBody;
+
+        int weight() {
+            return body.length + (gzippedBody == null ? 0 : gzippedBody.length);
+        }
+    }
+}
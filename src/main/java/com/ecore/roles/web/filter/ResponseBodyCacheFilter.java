@@ -0,0 +1,80 @@
+package com.ecore.roles.web.filter;
+
+import com.ecore.roles.web.filter.ResponseBodyCache.CachedBody;
+import com.ecore.roles.web.filter.ResponseBodyCache.Key;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Serves hot read endpoints from {@link ResponseBodyCache}, writing the stored bytes, gzipped when
+ * the client accepts it, without running the controller or Jackson.
+ */
+public class ResponseBodyCacheFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    private final ResponseBodyCache cache;
+
+    public ResponseBodyCacheFilter(ResponseBodyCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || !ResponseBodyCache.isCacheable(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain)
+            throws ServletException, IOException {
+        Key key = new Key(request.getRequestURI(), request.getQueryString(),
+                request.getHeader(HttpHeaders.ACCEPT));
+        CachedBody cached = cache.get(key);
+        if (cached != null) {
+            write(request, response, cached);
+            return;
+        }
+
+        long generation = cache.generation(key.getPath());
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() == HttpStatus.OK.value() && wrapper.getContentType() != null) {
+            cache.put(key, generation, wrapper.getContentType(), FilterResponses.headers(wrapper),
+                    wrapper.getContentAsByteArray());
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private static void write(HttpServletRequest request, HttpServletResponse response, CachedBody cached)
+            throws IOException {
+        byte[] body = cached.getBody();
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cached.getContentType());
+        cached.getHeaders().forEach(response::setHeader);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (cached.getGzippedBody() != null && acceptsGzip(request)) {
+            body = cached.getGzippedBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecore.roles.web.filter;
+
+import java.util.concurrent.TimeUnit;
+
+class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 when the token was taken, otherwise the nanoseconds until one becomes available
+     */
+    synchronized long tryConsume(long nowNanos) {
+        long waitNanos = refill(nowNanos);
+        if (waitNanos == 0) {
+            tokens -= 1;
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Takes one token from each bucket if both have one available, and none otherwise. Locks
+     * {@code first} before {@code second}, so callers must always pass the same two kinds of bucket in
+     * the same order.
+     *
+     * @return 0 when the tokens were taken, otherwise the nanoseconds until both buckets have one
+     */
+    static long tryConsume(TokenBucket first, TokenBucket second, long nowNanos) {
+        synchronized (first) {
+            synchronized (second) {
+                long waitNanos = Math.max(first.refill(nowNanos), second.refill(nowNanos));
+                if (waitNanos == 0) {
+                    first.tokens -= 1;
+                    second.tokens -= 1;
+                }
+                return waitNanos;
+            }
+        }
+    }
+
+    /**
+     * @return 0 when a token is available, otherwise the nanoseconds until one is
+     */
+    private long refill(long nowNanos) {
+        tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = nowNanos;
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
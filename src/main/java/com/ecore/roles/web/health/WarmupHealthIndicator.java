@@ -0,0 +1,35 @@
+package com.ecore.roles.web.health;
+
+import com.ecore.roles.service.WarmupService;
+import com.ecore.roles.service.model.WarmupStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports {@code OUT_OF_SERVICE} until startup warm-up has finished or run out of budget. Part of
+ * the readiness group, so traffic is only routed to warmed instances. The root health endpoint
+ * includes it too, so container health checks poll {@code /actuator/health/liveness} instead.
+ */
+@Component("warmup")
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final WarmupService warmupService;
+
+    @Autowired
+    public WarmupHealthIndicator(WarmupService warmupService) {
+        this.warmupService = warmupService;
+    }
+
+    @Override
+    public Health health() {
+        WarmupStatus status = warmupService.getStatus();
+        return (status.isReady() ? Health.up() : Health.outOfService())
+                .withDetail("state", status.getState())
+                .withDetail("completedSteps", status.getCompletedSteps())
+                .withDetail("failedSteps", status.getFailedSteps())
+                .withDetail("elapsedMs", status.getElapsed().toMillis())
+                .build();
+    }
+}
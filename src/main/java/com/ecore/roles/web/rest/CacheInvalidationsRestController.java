@@ -0,0 +1,67 @@
+package com.ecore.roles.web.rest;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.client.model.User;
+import com.ecore.roles.configuration.WebhooksConfigurationProperties;
+import com.ecore.roles.exception.UnauthorizedException;
+import com.ecore.roles.service.event.ResourceChangedEvent;
+import com.ecore.roles.web.CacheInvalidationsApi;
+import com.ecore.roles.web.dto.CacheInvalidationDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Webhook for upstream change notifications. Invalidation only reaches the instance that receives
+ * the call: with several instances behind a load balancer, the sender must call each instance, or
+ * the others serve cached teams and users until the {@code cache.*.ttl} and directory refresh
+ * interval elapse.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/v1/cache-invalidations")
+public class CacheInvalidationsRestController implements CacheInvalidationsApi {
+
+    private final WebhooksConfigurationProperties webhooksConfigurationProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @PostMapping(
+            consumes = {"application/json"})
+    public ResponseEntity<Void> invalidate(
+            @RequestHeader(name = "${webhooks.token-header:X-Webhook-Token}", required = false) String token,
+            @Valid @RequestBody CacheInvalidationDto invalidation) {
+        authenticate(token);
+        Class<?> resource = invalidation.getResource() == CacheInvalidationDto.Resource.TEAMS
+                ? Team.class
+                : User.class;
+        eventPublisher.publishEvent(
+                ResourceChangedEvent.of(resource, ofNullable(invalidation.getIds()).orElse(List.of())));
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .build();
+    }
+
+    private void authenticate(String token) {
+        String expected = webhooksConfigurationProperties.getToken();
+        if (!StringUtils.hasText(expected) || token == null || !MessageDigest.isEqual(
+                expected.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8))) {
+            throw new UnauthorizedException("Invalid webhook token");
+        }
+    }
+}
@@ -1,30 +1,68 @@
 package com.ecore.roles.web.rest;
 
 import com.ecore.roles.exception.ErrorResponse;
+import com.ecore.roles.exception.ExpectedOutcomeException;
 import com.ecore.roles.exception.InvalidArgumentException;
 import com.ecore.roles.exception.ResourceExistsException;
 import com.ecore.roles.exception.ResourceNotFoundException;
+import com.ecore.roles.exception.UnauthorizedException;
+import com.ecore.roles.exception.UpstreamTimeoutException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps exceptions to error responses. Bodies of expected outcomes with a fixed message, such as a
+ * duplicate membership, are serialised once and reused for clients that accept JSON.
+ */
 @ControllerAdvice
 public class DefaultExceptionHandler {
 
+    private final ObjectWriter errorWriter;
+    private final Map<Class<?>, byte[]> existsBodies = new ConcurrentHashMap<>();
+    private final Map<Class<?>, byte[]> invalidBodies = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DefaultExceptionHandler(ObjectMapper objectMapper) {
+        this.errorWriter = objectMapper.writerFor(ErrorResponse.class);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<?> handle(ResourceNotFoundException exception, WebRequest request) {
+        return createResponse(HttpStatus.NOT_FOUND.value(), exception, null, request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<?> handle(ResourceExistsException exception, WebRequest request) {
+        return createResponse(HttpStatus.BAD_REQUEST.value(), exception, existsBodies, request);
+    }
+
     @ExceptionHandler
-    public ResponseEntity<ErrorResponse> handle(ResourceNotFoundException exception) {
-        return createResponse(HttpStatus.NOT_FOUND.value(), exception.getMessage());
+    public ResponseEntity<?> handle(InvalidArgumentException exception, WebRequest request) {
+        return createResponse(HttpStatus.BAD_REQUEST.value(), exception, invalidBodies, request);
     }
 
     @ExceptionHandler
-    public ResponseEntity<ErrorResponse> handle(ResourceExistsException exception) {
-        return createResponse(HttpStatus.BAD_REQUEST.value(), exception.getMessage());
+    public ResponseEntity<ErrorResponse> handle(UnauthorizedException exception) {
+        return createResponse(HttpStatus.UNAUTHORIZED.value(), exception.getMessage());
     }
 
     @ExceptionHandler
-    public ResponseEntity<ErrorResponse> handle(InvalidArgumentException exception) {
-        return createResponse(HttpStatus.BAD_REQUEST.value(), exception.getMessage());
+    public ResponseEntity<ErrorResponse> handle(UpstreamTimeoutException exception) {
+        return createResponse(HttpStatus.GATEWAY_TIMEOUT.value(), exception.getMessage());
     }
 
     @ExceptionHandler
@@ -32,6 +70,22 @@ public class DefaultExceptionHandler {
         return createResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), exception.getMessage());
     }
 
+    private ResponseEntity<?> createResponse(
+            int status,
+            ExpectedOutcomeException exception,
+            Map<Class<?>, byte[]> bodies,
+            WebRequest request) {
+        if (bodies == null || !exception.hasFixedMessage() || !acceptsJson(request)) {
+            return createResponse(status, exception.getMessage());
+        }
+        byte[] body = bodies.computeIfAbsent(exception.getResource(),
+                resource -> serialize(status, exception.getMessage()));
+        return ResponseEntity
+                .status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     private ResponseEntity<ErrorResponse> createResponse(int status, String exception) {
         return ResponseEntity
                 .status(status)
@@ -39,4 +93,25 @@ public class DefaultExceptionHandler {
                         .status(status)
                         .error(exception).build());
     }
+
+    private byte[] serialize(int status, String error) {
+        try {
+            return errorWriter.writeValueAsBytes(new ErrorResponse(status, error));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Whether every type the client accepts is compatible with JSON, so that content negotiation would
+     * pick JSON too. Other clients get the error negotiated as before.
+     */
+    private static boolean acceptsJson(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return true;
+        }
+        List<MediaType> types = MediaType.parseMediaTypes(accept);
+        return !types.isEmpty() && types.stream().allMatch(MediaType.APPLICATION_JSON::isCompatibleWith);
+    }
 }
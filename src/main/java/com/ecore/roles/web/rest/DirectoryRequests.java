@@ -0,0 +1,74 @@
+package com.ecore.roles.web.rest;
+
+import com.ecore.roles.configuration.DirectoryConfigurationProperties;
+import com.ecore.roles.exception.InvalidArgumentException;
+import com.ecore.roles.service.model.DirectoryPage;
+import com.ecore.roles.service.model.DirectoryQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Maps listing parameters shared by the users and teams endpoints onto a {@link DirectoryQuery}.
+ */
+final class DirectoryRequests {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String DESCENDING = "desc";
+
+    private DirectoryRequests() {}
+
+    static boolean isListingRequest(Object... parameters) {
+        for (Object parameter : parameters) {
+            if (parameter != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static DirectoryQuery.DirectoryQueryBuilder query(
+            DirectoryConfigurationProperties properties,
+            Integer page,
+            Integer size,
+            String sort,
+            String cursor) {
+        int pageSize = ofNullable(size).orElse(properties.getDefaultPageSize());
+        int pageNumber = ofNullable(page).orElse(0);
+        if (pageNumber < 0 || pageSize < 1 || pageSize > properties.getMaxPageSize()) {
+            throw new InvalidArgumentException(Pageable.class, String.format(
+                    "Page must not be negative and size must be between 1 and %d.",
+                    properties.getMaxPageSize()));
+        }
+        String field = null;
+        boolean descending = false;
+        if (sort != null) {
+            String[] parts = sort.split(",", 2);
+            field = parts[0];
+            descending = parts.length == 2 && DESCENDING.equalsIgnoreCase(parts[1].trim());
+        }
+        return DirectoryQuery.builder()
+                .page(pageNumber)
+                .size(pageSize)
+                .sort(field)
+                .descending(descending)
+                .cursor(cursor);
+    }
+
+    static <T, D> ResponseEntity<List<D>> respond(DirectoryPage<T> page, Function<T, D> toDto) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems().stream()
+                .map(toDto)
+                .collect(Collectors.toList()));
+    }
+}
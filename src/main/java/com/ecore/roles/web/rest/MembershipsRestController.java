@@ -1,6 +1,7 @@
 package com.ecore.roles.web.rest;
 
 import com.ecore.roles.service.model.Membership;
+import com.ecore.roles.service.model.MembershipView;
 import com.ecore.roles.service.MembershipsService;
 import com.ecore.roles.web.MembershipsApi;
 import com.ecore.roles.web.dto.MembershipDto;
@@ -15,18 +16,21 @@ import java.util.List;
 import java.util.UUID;
 
 import static com.ecore.roles.web.dto.MembershipDto.fromModel;
+import static java.util.Optional.ofNullable;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(value = "/v1/memberships")
 public class MembershipsRestController implements MembershipsApi {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final MembershipsService membershipsService;
 
     @Override
     @PostMapping(
             consumes = {"application/json"},
-            produces = {"application/json"})
+            produces = {"application/json", "application/x-jackson-smile", "application/cbor"})
     public ResponseEntity<MembershipDto> createMembership(
             @NotNull @Valid @RequestBody MembershipDto membershipDto) {
         Membership membership = membershipsService.createMembership(membershipDto.toModel());
@@ -38,16 +42,22 @@ public class MembershipsRestController implements MembershipsApi {
     @Override
     @GetMapping(
             path = "/role/{roleId}",
-            produces = {"application/json"})
+            produces = {"application/json", "application/x-jackson-smile", "application/cbor"})
     public ResponseEntity<List<MembershipDto>> getMemberships(
-            @PathVariable UUID roleId) {
+            @PathVariable UUID roleId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
 
-        List<Membership> memberships = membershipsService.getMemberships(roleId);
+        List<MembershipView> memberships = page == null && size == null
+                ? membershipsService.getMemberships(roleId)
+                : membershipsService.getMemberships(roleId,
+                        ofNullable(page).orElse(0),
+                        ofNullable(size).orElse(DEFAULT_PAGE_SIZE));
 
-        List<MembershipDto> newMembershipDto = new ArrayList<>();
+        List<MembershipDto> newMembershipDto = new ArrayList<>(memberships.size());
 
-        for (Membership membership : memberships) {
-            MembershipDto membershipDto = fromModel(membership);
+        for (MembershipView membership : memberships) {
+            MembershipDto membershipDto = MembershipDto.fromView(membership);
             newMembershipDto.add(membershipDto);
         }
 
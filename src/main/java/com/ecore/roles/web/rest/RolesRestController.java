@@ -26,7 +26,7 @@ public class RolesRestController implements RolesApi {
     @Override
     @PostMapping(
             consumes = {"application/json"},
-            produces = {"application/json"})
+            produces = {"application/json", "application/x-jackson-smile", "application/cbor"})
     public ResponseEntity<RoleDto> createRole(
             @Valid @RequestBody RoleDto role) {
         return ResponseEntity
@@ -36,7 +36,7 @@ public class RolesRestController implements RolesApi {
 
     @Override
     @GetMapping(
-            produces = {"application/json"})
+            produces = {"application/json", "application/x-jackson-smile", "application/cbor"})
     public ResponseEntity<List<RoleDto>> getRoles() {
 
         List<Role> getRoles = rolesService.getRoles();
@@ -56,7 +56,7 @@ public class RolesRestController implements RolesApi {
     @Override
     @GetMapping(
             path = "/{roleId}",
-            produces = {"application/json"})
+            produces = {"application/json", "application/x-jackson-smile", "application/cbor"})
     public ResponseEntity<RoleDto> getRole(
             @PathVariable UUID roleId) {
         return ResponseEntity
@@ -67,7 +67,7 @@ public class RolesRestController implements RolesApi {
     @Override
     @GetMapping(
             path = "/team/{teamId}/user/{userId}",
-            produces = {"application/json"})
+            produces = {"application/json", "application/x-jackson-smile", "application/cbor"})
     public ResponseEntity<RoleDto> getRole(
             @PathVariable UUID teamId,
             @PathVariable UUID userId) {
@@ -0,0 +1,69 @@
+package com.ecore.roles.web.rest;
+
+import com.ecore.roles.configuration.SearchConfigurationProperties;
+import com.ecore.roles.exception.InvalidArgumentException;
+import com.ecore.roles.service.SearchService;
+import com.ecore.roles.web.SearchApi;
+import com.ecore.roles.web.dto.SearchResultDto;
+import com.ecore.roles.web.dto.TeamDto;
+import com.ecore.roles.web.dto.UserDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.stream.Collectors;
+
+import static java.util.Optional.ofNullable;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/v1/search")
+public class SearchRestController implements SearchApi {
+
+    private static final String USERS = "users";
+    private static final String TEAMS = "teams";
+
+    private final SearchService searchService;
+    private final SearchConfigurationProperties searchConfigurationProperties;
+
+    @Override
+    @GetMapping(
+            produces = {"application/json", "application/x-jackson-smile", "application/cbor"})
+    public ResponseEntity<SearchResultDto> search(
+            @RequestParam(name = "q", required = false) String query,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer limit) {
+        int maxResults = ofNullable(limit).orElse(searchConfigurationProperties.getDefaultLimit());
+        if (!StringUtils.hasText(query)) {
+            throw new InvalidArgumentException(SearchResultDto.class, "Query must not be blank.");
+        }
+        if (maxResults < 1 || maxResults > searchConfigurationProperties.getMaxLimit()) {
+            throw new InvalidArgumentException(SearchResultDto.class, String.format(
+                    "Limit must be between 1 and %d.", searchConfigurationProperties.getMaxLimit()));
+        }
+        if (type != null && !USERS.equals(type) && !TEAMS.equals(type)) {
+            throw new InvalidArgumentException(SearchResultDto.class,
+                    String.format("Unsupported type '%s'.", type));
+        }
+
+        SearchResultDto.SearchResultDtoBuilder result = SearchResultDto.builder();
+        if (type == null || USERS.equals(type)) {
+            result.users(searchService.searchUsers(query, maxResults).stream()
+                    .map(UserDto::fromModel)
+                    .collect(Collectors.toList()));
+        }
+        if (type == null || TEAMS.equals(type)) {
+            result.teams(searchService.searchTeams(query, maxResults).stream()
+                    .map(TeamDto::fromModel)
+                    .collect(Collectors.toList()));
+        }
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(result.build());
+    }
+}
@@ -1,5 +1,10 @@
 package com.ecore.roles.web.rest;
 
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.configuration.DirectoryConfigurationProperties;
+import com.ecore.roles.exception.InvalidArgumentException;
+import com.ecore.roles.service.DirectoryService;
+import com.ecore.roles.service.TeamDetailsService;
 import com.ecore.roles.service.TeamsService;
 import com.ecore.roles.web.TeamsApi;
 import com.ecore.roles.web.dto.TeamDto;
@@ -9,9 +14,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -22,28 +29,63 @@ import static com.ecore.roles.web.dto.TeamDto.fromModel;
 @RequestMapping(value = "/v1/teams")
 public class TeamsRestController implements TeamsApi {
 
+    private static final String EXPAND_MEMBERS = "members";
+    private static final String EXPAND_ROLES = "roles";
+
     private final TeamsService teamsService;
+    private final TeamDetailsService teamDetailsService;
+    private final DirectoryService directoryService;
+    private final DirectoryConfigurationProperties directoryConfigurationProperties;
 
     @Override
     @GetMapping(
-            produces = {"application/json"})
-    public ResponseEntity<List<TeamDto>> getTeams() {
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .body(teamsService.getTeams().stream()
-                        .map(TeamDto::fromModel)
-                        .collect(Collectors.toList()));
+            produces = {"application/json", "application/x-jackson-smile", "application/cbor"})
+    public ResponseEntity<List<TeamDto>> getTeams(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) UUID teamLead) {
+        if (!DirectoryRequests.isListingRequest(page, size, sort, cursor, name, teamLead)) {
+            return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .body(directoryService.getTeams().all().stream()
+                            .map(TeamDto::fromModel)
+                            .collect(Collectors.toList()));
+        }
+        return DirectoryRequests.respond(
+                directoryService.findTeams(DirectoryRequests
+                        .query(directoryConfigurationProperties, page, size, sort, cursor)
+                        .namePrefix(name)
+                        .teamLeadId(teamLead)
+                        .build()),
+                TeamDto::fromModel);
     }
 
     @Override
     @GetMapping(
             path = "/{teamId}",
-            produces = {"application/json"})
+            produces = {"application/json", "application/x-jackson-smile", "application/cbor"})
     public ResponseEntity<TeamDto> getTeam(
-            @PathVariable UUID teamId) {
+            @PathVariable UUID teamId,
+            @RequestParam(required = false) Set<String> expand) {
+        if (expand == null || expand.isEmpty()) {
+            return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .body(fromModel(teamsService.getTeam(teamId)));
+        }
+        expand.stream()
+                .filter(value -> !EXPAND_MEMBERS.equals(value) && !EXPAND_ROLES.equals(value))
+                .findFirst()
+                .ifPresent(value -> {
+                    throw new InvalidArgumentException(Team.class,
+                            String.format("Unsupported expand value '%s'.", value));
+                });
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(fromModel(teamsService.getTeam(teamId)));
+                .body(fromModel(teamDetailsService.getTeamDetails(
+                        teamId, expand.contains(EXPAND_MEMBERS), expand.contains(EXPAND_ROLES))));
     }
 
 }
@@ -1,7 +1,11 @@
 package com.ecore.roles.web.rest;
 
+import com.ecore.roles.configuration.DirectoryConfigurationProperties;
+import com.ecore.roles.service.DirectoryService;
+import com.ecore.roles.service.UserTeamsService;
 import com.ecore.roles.service.UsersService;
 import com.ecore.roles.web.UsersApi;
+import com.ecore.roles.web.dto.TeamDto;
 import com.ecore.roles.web.dto.UserDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -9,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -23,26 +28,57 @@ import static com.ecore.roles.web.dto.UserDto.fromModel;
 public class UsersRestController implements UsersApi {
 
     private final UsersService usersService;
+    private final DirectoryService directoryService;
+    private final UserTeamsService userTeamsService;
+    private final DirectoryConfigurationProperties directoryConfigurationProperties;
 
     @Override
     @GetMapping(
-            produces = {"application/json"})
-    public ResponseEntity<List<UserDto>> getUsers() {
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .body(usersService.getUsers().stream()
-                        .map(UserDto::fromModel)
-                        .collect(Collectors.toList()));
+            produces = {"application/json", "application/x-jackson-smile", "application/cbor"})
+    public ResponseEntity<List<UserDto>> getUsers(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String location) {
+        if (!DirectoryRequests.isListingRequest(page, size, sort, cursor, name, location)) {
+            return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .body(directoryService.getUsers().all().stream()
+                            .map(UserDto::fromModel)
+                            .collect(Collectors.toList()));
+        }
+        return DirectoryRequests.respond(
+                directoryService.findUsers(DirectoryRequests
+                        .query(directoryConfigurationProperties, page, size, sort, cursor)
+                        .namePrefix(name)
+                        .location(location)
+                        .build()),
+                UserDto::fromModel);
     }
 
     @Override
     @GetMapping(
             path = "/{userId}",
-            produces = {"application/json"})
+            produces = {"application/json", "application/x-jackson-smile", "application/cbor"})
     public ResponseEntity<UserDto> getUser(
             @PathVariable UUID userId) {
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(fromModel(usersService.getUser(userId)));
     }
+
+    @Override
+    @GetMapping(
+            path = "/{userId}/teams",
+            produces = {"application/json", "application/x-jackson-smile", "application/cbor"})
+    public ResponseEntity<List<TeamDto>> getUserTeams(
+            @PathVariable UUID userId) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(userTeamsService.getTeams(userId).stream()
+                        .map(TeamDto::fromModel)
+                        .collect(Collectors.toList()));
+    }
 }
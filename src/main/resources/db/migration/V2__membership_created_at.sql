@@ -0,0 +1,4 @@
+alter table membership
+    add column created_at timestamp default current_timestamp not null;
+
+create index membership_created_at on membership (created_at);
@@ -0,0 +1,12 @@
+-- A user holds one role per team. Keep the earliest membership of any duplicated pair.
+delete
+from membership m
+where exists(select 1
+             from membership other
+             where other.team_id = m.team_id
+               and other.user_id = m.user_id
+               and (other.created_at < m.created_at
+                 or (other.created_at = m.created_at and other.id < m.id)));
+
+alter table membership
+    add constraint membership_team_user unique (team_id, user_id);
@@ -0,0 +1,131 @@
+package com.ecore.roles.api;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.service.event.ResourceChangedEvent;
+import com.ecore.roles.utils.RestAssuredHelper;
+import com.ecore.roles.web.dto.CacheInvalidationDto;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.ecore.roles.utils.RestAssuredHelper.getTeam;
+import static com.ecore.roles.utils.RestAssuredHelper.invalidateCache;
+import static com.ecore.roles.utils.TestData.ORDINARY_CORAL_LYNX_TEAM_UUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CacheInvalidationsApiTest {
+
+    private static final List<ResourceChangedEvent> EVENTS = new CopyOnWriteArrayList<>();
+    private static final AtomicReference<String> UPSTREAM_TEAM_NAME = new AtomicReference<>();
+
+    private static HttpServer upstream;
+
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Serves teams that stay fresh for five minutes, so that only an evicted entry reaches upstream.
+     */
+    @DynamicPropertySource
+    static void upstreamTeams(DynamicPropertyRegistry registry) throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.createContext("/teams/", exchange -> {
+            String id = exchange.getRequestURI().getPath().substring("/teams/".length());
+            byte[] body = ("{\"id\":\"" + id + "\",\"name\":\"" + UPSTREAM_TEAM_NAME.get() + "\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Cache-Control", "max-age=300");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        upstream.start();
+        registry.add("clients.teams-api-host",
+                () -> "http://localhost:" + upstream.getAddress().getPort() + "/teams");
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        RestAssuredHelper.setUp(port);
+        EVENTS.clear();
+    }
+
+    @Test
+    void shouldPublishChangeForInvalidatedTeams() {
+        invalidateCache("test-token", CacheInvalidationDto.builder()
+                .resource(CacheInvalidationDto.Resource.TEAMS)
+                .ids(List.of(ORDINARY_CORAL_LYNX_TEAM_UUID))
+                .build())
+                        .statusCode(HttpStatus.ACCEPTED.value());
+
+        assertThat(EVENTS).containsExactly(
+                ResourceChangedEvent.of(Team.class, List.of(ORDINARY_CORAL_LYNX_TEAM_UUID)));
+    }
+
+    @Test
+    void shouldReloadInvalidatedTeamWhileUpstreamResponseIsFresh() {
+        UUID teamId = UUID.randomUUID();
+        UPSTREAM_TEAM_NAME.set("Before");
+        getTeam(teamId).statusCode(HttpStatus.OK.value()).body("name", equalTo("Before"));
+        UPSTREAM_TEAM_NAME.set("After");
+
+        invalidateCache("test-token", CacheInvalidationDto.builder()
+                .resource(CacheInvalidationDto.Resource.TEAMS)
+                .ids(List.of(teamId))
+                .build())
+                        .statusCode(HttpStatus.ACCEPTED.value());
+
+        getTeam(teamId).statusCode(HttpStatus.OK.value()).body("name", equalTo("After"));
+    }
+
+    @Test
+    void shouldFailToInvalidateWithoutValidToken() {
+        CacheInvalidationDto invalidation = CacheInvalidationDto.builder()
+                .resource(CacheInvalidationDto.Resource.USERS)
+                .build();
+
+        invalidateCache(null, invalidation)
+                .validate(HttpStatus.UNAUTHORIZED.value(), "Invalid webhook token");
+        invalidateCache("wrong-token", invalidation)
+                .validate(HttpStatus.UNAUTHORIZED.value(), "Invalid webhook token");
+        assertThat(EVENTS).isEmpty();
+    }
+
+    @Test
+    void shouldFailToInvalidateWithoutResource() {
+        invalidateCache("test-token", new CacheInvalidationDto())
+                .validate(HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase());
+    }
+
+    @TestConfiguration
+    static class EventRecorder {
+
+        @EventListener
+        public void record(ResourceChangedEvent event) {
+            EVENTS.add(event);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.ecore.roles.service.model.Role;
 import com.ecore.roles.repository.MembershipRepository;
 import com.ecore.roles.utils.RestAssuredHelper;
 import com.ecore.roles.web.dto.MembershipDto;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,6 +46,11 @@ class MembershipsApiTests {
         membershipRepository.deleteAll();
     }
 
+    @AfterEach
+    void tearDown() {
+        membershipRepository.deleteAll();
+    }
+
     @Test
     void shouldCreateRoleMembership() {
         Membership expectedMembership = DEFAULT_MEMBERSHIP();
@@ -157,6 +163,28 @@ class MembershipsApiTests {
         assertThat(actualMemberships).isEmpty();
     }
 
+    @Test
+    void shouldGetMembershipsPage() {
+        createDefaultMembership();
+
+        MembershipDto[] firstPage = getMemberships(DEVELOPER_ROLE_UUID, 0, 1)
+                .statusCode(HttpStatus.OK.value())
+                .extract().as(MembershipDto[].class);
+        MembershipDto[] secondPage = getMemberships(DEVELOPER_ROLE_UUID, 1, 1)
+                .statusCode(HttpStatus.OK.value())
+                .extract().as(MembershipDto[].class);
+
+        assertThat(firstPage).containsExactly(MembershipDto.fromModel(DEFAULT_MEMBERSHIP()));
+        assertThat(secondPage).isEmpty();
+    }
+
+    @Test
+    void shouldFailToGetMembershipsPageWhenSizeIsNotPositive() {
+        getMemberships(DEVELOPER_ROLE_UUID, 0, 0)
+                .validate(HttpStatus.BAD_REQUEST.value(),
+                        "Invalid 'Pageable' object. Page must not be negative and size must be positive.");
+    }
+
     private MembershipDto createDefaultMembership() {
         Membership expectedMembership = DEFAULT_MEMBERSHIP();
         mockGetTeamById(mockServer, expectedMembership.getTeamId(), ORDINARY_CORAL_LYNX_TEAM());
@@ -0,0 +1,47 @@
+package com.ecore.roles.api;
+
+import com.ecore.roles.utils.RestAssuredHelper;
+import io.restassured.response.ValidatableResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Requests arrive from the loopback address, which Tomcat trusts as an internal proxy, as a load
+ * balancer in front of the service would be.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.forward-headers-strategy=native",
+        "rate-limit.enabled=true",
+        "rate-limit.read.capacity=1",
+        "rate-limit.read.refill-per-second=0.001"})
+class RateLimitApiTest {
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeEach
+    void setUp() {
+        RestAssuredHelper.setUp(port);
+    }
+
+    @Test
+    void shouldLimitEachClientBehindProxySeparately() {
+        getRolesFor("203.0.113.1").statusCode(HttpStatus.OK.value());
+        getRolesFor("203.0.113.1").statusCode(HttpStatus.TOO_MANY_REQUESTS.value());
+
+        getRolesFor("203.0.113.2").statusCode(HttpStatus.OK.value());
+    }
+
+    private static ValidatableResponse getRolesFor(String clientAddress) {
+        return given()
+                .header("X-Forwarded-For", clientAddress)
+                .when()
+                .get("/v1/roles")
+                .then();
+    }
+}
@@ -5,6 +5,8 @@ import com.ecore.roles.service.model.Role;
 import com.ecore.roles.repository.RoleRepository;
 import com.ecore.roles.utils.RestAssuredHelper;
 import com.ecore.roles.web.dto.RoleDto;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,11 +16,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
 import java.util.Optional;
 
 import static com.ecore.roles.utils.MockUtils.mockGetTeamById;
 import static com.ecore.roles.utils.RestAssuredHelper.*;
 import static com.ecore.roles.utils.TestData.*;
+import static io.restassured.RestAssured.given;
 import static io.restassured.RestAssured.when;
 import static java.lang.String.format;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -68,6 +72,20 @@ class RolesApiTest {
         assertThat(actualRole.getName()).isEqualTo(expectedRole.getName());
     }
 
+    @Test
+    void shouldReplayRoleCreationWithSameIdempotencyKey() {
+        RoleDto first = createRole(DEVOPS_ROLE(), "create-devops")
+                .statusCode(HttpStatus.CREATED.value())
+                .extract().as(RoleDto.class);
+
+        RoleDto retry = createRole(DEVOPS_ROLE(), "create-devops")
+                .statusCode(HttpStatus.CREATED.value())
+                .header("Idempotent-Replayed", "true")
+                .extract().as(RoleDto.class);
+
+        assertThat(retry.getId()).isEqualTo(first.getId());
+    }
+
     @Test
     void shouldFailToCreateNewRoleWhenNull() {
         createRole(null)
@@ -92,6 +110,22 @@ class RolesApiTest {
                 .validate(HttpStatus.BAD_REQUEST.value(), "Role already exists");
     }
 
+    @Test
+    void shouldNegotiateErrorWhenNameAlreadyExists() throws IOException {
+        byte[] body = sendRequest(given()
+                .accept("application/x-jackson-smile")
+                .contentType("application/json")
+                .body(RoleDto.fromModel(DEVELOPER_ROLE()))
+                .when()
+                .post("/v1/roles")
+                .then())
+                        .statusCode(HttpStatus.BAD_REQUEST.value())
+                        .contentType("application/x-jackson-smile")
+                        .extract().asByteArray();
+
+        assertThat(new SmileMapper().readTree(body).get("error").asText()).isEqualTo("Role already exists");
+    }
+
     @Test
     void shouldGetAllRoles() {
         RoleDto[] roles = getRoles()
@@ -103,6 +137,30 @@ class RolesApiTest {
         assertThat(roles).contains(RoleDto.fromModel(TESTER_ROLE()));
     }
 
+    @Test
+    void shouldGetAllRolesAsCbor() throws IOException {
+        byte[] body = getRoles("application/cbor")
+                .statusCode(HttpStatus.OK.value())
+                .contentType("application/cbor")
+                .extract().asByteArray();
+
+        RoleDto[] roles = new CBORMapper().readValue(body, RoleDto[].class);
+
+        assertThat(roles).contains(RoleDto.fromModel(DEVELOPER_ROLE()));
+    }
+
+    @Test
+    void shouldGetAllRolesAsSmile() throws IOException {
+        byte[] body = getRoles("application/x-jackson-smile")
+                .statusCode(HttpStatus.OK.value())
+                .contentType("application/x-jackson-smile")
+                .extract().asByteArray();
+
+        RoleDto[] roles = new SmileMapper().readValue(body, RoleDto[].class);
+
+        assertThat(roles).contains(RoleDto.fromModel(DEVELOPER_ROLE()));
+    }
+
     @Test
     void shouldGetRoleById() {
         Role expectedRole = DEVELOPER_ROLE();
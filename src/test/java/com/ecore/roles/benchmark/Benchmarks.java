@@ -0,0 +1,53 @@
+package com.ecore.roles.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+final class Benchmarks {
+
+    /**
+     * Every JMH benchmark class, run by {@link JmhBenchmarksTest}.
+     */
+    static final List<Class<?>> ALL = List.of(
+            ErrorPathBenchmark.class,
+            JsonListingBenchmark.class,
+            UuidSetBenchmark.class);
+
+    private Benchmarks() {}
+
+    /**
+     * Runs every benchmark of the class in one fork with short iterations and writes JSON results to
+     * {@code target/jmh-<name>.json}, the name being the class name in kebab case without the
+     * {@code Benchmark} suffix, such as {@code jmh-error-path.json}.
+     */
+    static Path run(Class<?> benchmark) throws RunnerException {
+        Path result = Paths.get("target", "jmh-" + nameOf(benchmark) + ".json");
+        new Runner(new OptionsBuilder()
+                .include(benchmark.getName())
+                .forks(1)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build())
+                        .run();
+        return result;
+    }
+
+    private static String nameOf(Class<?> benchmark) {
+        return benchmark.getSimpleName()
+                .replaceFirst("Benchmark$", "")
+                .replaceAll("([a-z0-9])([A-Z])", "$1-$2")
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecore.roles.benchmark;
+
+import com.ecore.roles.exception.ErrorResponse;
+import com.ecore.roles.exception.ResourceExistsException;
+import com.ecore.roles.exception.ResourceNotFoundException;
+import com.ecore.roles.service.model.Membership;
+import com.ecore.roles.web.rest.DefaultExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+
+/**
+ * Throws a membership miss or a duplicate from 64 frames deep, as under the servlet stack, and
+ * renders the error body. The legacy variants capture a stack trace, format their message and
+ * serialise a new {@link ErrorResponse} each time, as the exceptions and handler did before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ErrorPathBenchmark {
+
+    private static final int DEPTH = 64;
+
+    UUID teamId;
+    UUID userId;
+    ObjectMapper objectMapper;
+    DefaultExceptionHandler handler;
+    WebRequest request;
+
+    @Setup
+    public void setUp() {
+        teamId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+        objectMapper = new ObjectMapper();
+        handler = new DefaultExceptionHandler(objectMapper);
+        request = new ServletWebRequest(new MockHttpServletRequest());
+    }
+
+    @Benchmark
+    public byte[] missLegacy() throws Exception {
+        try {
+            return throwFrom(DEPTH, () -> new LegacyException(format("Resource %s not found. %s",
+                    Membership.class.getSimpleName(),
+                    format("Invalid userId (%s) and teamId (%s) combination.", userId, teamId))));
+        } catch (LegacyException e) {
+            return objectMapper.writeValueAsBytes(new ErrorResponse(404, e.getMessage()));
+        }
+    }
+
+    @Benchmark
+    public byte[] missTuned() throws Exception {
+        try {
+            return throwFrom(DEPTH, () -> new ResourceNotFoundException(Membership.class,
+                    () -> "Invalid userId (" + userId + ") and teamId (" + teamId + ") combination."));
+        } catch (ResourceNotFoundException e) {
+            return render(handler.handle(e, request));
+        }
+    }
+
+    @Benchmark
+    public byte[] duplicateLegacy() throws Exception {
+        try {
+            return throwFrom(DEPTH, () -> new LegacyException(
+                    format("%s already exists", Membership.class.getSimpleName())));
+        } catch (LegacyException e) {
+            return objectMapper.writeValueAsBytes(new ErrorResponse(400, e.getMessage()));
+        }
+    }
+
+    @Benchmark
+    public byte[] duplicateTuned() throws Exception {
+        try {
+            return throwFrom(DEPTH, () -> new ResourceExistsException(Membership.class));
+        } catch (ResourceExistsException e) {
+            return render(handler.handle(e, request));
+        }
+    }
+
+    private byte[] render(ResponseEntity<?> response) throws Exception {
+        Object body = response.getBody();
+        return body instanceof byte[] ? (byte[]) body : objectMapper.writeValueAsBytes(body);
+    }
+
+    private static byte[] throwFrom(int depth, Supplier<RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        return throwFrom(depth - 1, exception);
+    }
+
+    private static class LegacyException extends RuntimeException {
+
+        LegacyException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecore.roles.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs each benchmark class of {@link Benchmarks#ALL}. Run with {@code mvn test -Pbenchmark};
+ * results are written to {@code target/jmh-<name>.json}.
+ */
+@Tag("benchmark")
+class JmhBenchmarksTest {
+
+    static Stream<Class<?>> benchmarks() {
+        return Benchmarks.ALL.stream();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("benchmarks")
+    void shouldRunBenchmarks(Class<?> benchmark) throws Exception {
+        assertThat(Benchmarks.run(benchmark)).exists();
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecore.roles.benchmark;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.util.json.UuidModule;
+import com.ecore.roles.web.dto.MembershipDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a 10k-element membership listing and reads a 10k-element Teams API listing, with a plain
+ * {@code ObjectMapper} against the tuned one: UUID module, Blackbird and a reused reader or writer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonListingBenchmark {
+
+    private static final int SIZE = 10_000;
+    private static final TypeReference<List<MembershipDto>> MEMBERSHIPS = new TypeReference<>() {};
+    private static final TypeReference<List<Team>> TEAMS = new TypeReference<>() {};
+
+    List<MembershipDto> memberships;
+    byte[] teams;
+    ObjectMapper standard;
+    ObjectWriter membershipsWriter;
+    ObjectReader teamsReader;
+
+    @Setup
+    public void setUp() throws Exception {
+        SplittableRandom random = new SplittableRandom(42);
+        memberships = new ArrayList<>(SIZE);
+        List<Team> teamList = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            memberships.add(MembershipDto.builder()
+                    .id(uuid(random))
+                    .roleId(uuid(random))
+                    .userId(uuid(random))
+                    .teamId(uuid(random))
+                    .build());
+            teamList.add(Team.builder()
+                    .id(uuid(random))
+                    .name("Team " + i)
+                    .teamLeadId(uuid(random))
+                    .teamMemberIds(List.of(uuid(random), uuid(random), uuid(random), uuid(random)))
+                    .build());
+        }
+        standard = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        teams = standard.writeValueAsBytes(teamList);
+
+        ObjectMapper tuned = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .registerModule(new UuidModule())
+                .registerModule(new BlackbirdModule());
+        membershipsWriter = tuned.writerFor(MEMBERSHIPS);
+        teamsReader = tuned.readerFor(TEAMS);
+    }
+
+    @Benchmark
+    public byte[] writeMembershipsStandard() throws Exception {
+        return standard.writeValueAsBytes(memberships);
+    }
+
+    @Benchmark
+    public byte[] writeMembershipsTuned() throws Exception {
+        return membershipsWriter.writeValueAsBytes(memberships);
+    }
+
+    @Benchmark
+    public List<Team> readTeamsStandard() throws Exception {
+        return standard.readValue(teams, TEAMS);
+    }
+
+    @Benchmark
+    public List<Team> readTeamsTuned() throws Exception {
+        return teamsReader.readValue(teams);
+    }
+
+    private static UUID uuid(SplittableRandom random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+}
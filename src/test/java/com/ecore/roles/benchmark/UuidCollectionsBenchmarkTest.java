@@ -0,0 +1,100 @@
+package com.ecore.roles.benchmark;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.service.directory.TeamMembershipIndex;
+import com.ecore.roles.util.UuidMultimap;
+import com.ecore.roles.util.UuidSet;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures retained heap of the primitive UUID collections, and of the {@link TeamMembershipIndex}
+ * built on them, against their {@code java.util} equivalents. Their speed is measured by
+ * {@link UuidSetBenchmark}. Run with {@code mvn test -Pbenchmark}; results are written to
+ * {@code target/uuid-footprint.properties}.
+ */
+@Tag("benchmark")
+class UuidCollectionsBenchmarkTest {
+
+    private static final int SIZE = 100_000;
+    private static final int TEAM_SIZE = 10;
+    private static final Path FOOTPRINT = Paths.get("target", "uuid-footprint.properties");
+
+    @Test
+    void shouldUseLessHeapThanJavaUtilCollections() throws Exception {
+        SplittableRandom random = new SplittableRandom(42);
+        Set<UUID> hashSet = new HashSet<>();
+        UuidSet uuidSet = new UuidSet();
+        Map<UUID, Set<UUID>> hashMultimap = new HashMap<>();
+        UuidMultimap uuidMultimap = new UuidMultimap();
+        for (int i = 0; i < SIZE; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            UUID teamId = new UUID(random.nextLong(), random.nextLong());
+            hashSet.add(id);
+            uuidSet.add(id);
+            hashMultimap.computeIfAbsent(id, key -> new HashSet<>()).add(teamId);
+            uuidMultimap.put(id, teamId);
+        }
+
+        Properties report = new Properties();
+        long hashSetBytes = record(report, "hash-set", hashSet);
+        long uuidSetBytes = record(report, "uuid-set", uuidSet);
+        long hashMultimapBytes = record(report, "hash-multimap", hashMultimap);
+        long uuidMultimapBytes = record(report, "uuid-multimap", uuidMultimap);
+
+        List<Team> teams = new ArrayList<>();
+        for (int t = 0; t < SIZE / TEAM_SIZE; t++) {
+            List<UUID> members = new ArrayList<>();
+            for (int m = 0; m < TEAM_SIZE; m++) {
+                members.add(new UUID(random.nextLong(), random.nextLong()));
+            }
+            teams.add(Team.builder().id(new UUID(random.nextLong(), random.nextLong()))
+                    .teamMemberIds(members)
+                    .build());
+        }
+        TeamMembershipIndex index = new TeamMembershipIndex();
+        index.update(List.of(), teams);
+        // The layout it replaced: an immutable java.util set per user next to the same multimap.
+        Map<UUID, Set<UUID>> teamSetsByUser = new ConcurrentHashMap<>();
+        UuidMultimap usersByTeam = new UuidMultimap();
+        teams.forEach(team -> team.getTeamMemberIds().forEach(userId -> {
+            teamSetsByUser.put(userId, Set.of(team.getId()));
+            usersByTeam.put(team.getId(), userId);
+        }));
+        // Recorded only: a UuidSet per user costs more than a Set.of sharing the team's UUID, which the
+        // index accepts for sets it can publish and look up without UUID objects.
+        record(report, "team-membership-index", index);
+        record(report, "team-membership-index-java-sets", teamSetsByUser, usersByTeam);
+        Files.createDirectories(FOOTPRINT.getParent());
+        try (var writer = Files.newBufferedWriter(FOOTPRINT, StandardCharsets.UTF_8)) {
+            report.store(writer, "Retained bytes for " + SIZE + " UUIDs");
+        }
+
+        assertThat(uuidSetBytes).isLessThan(hashSetBytes);
+        assertThat(uuidMultimapBytes).isLessThan(hashMultimapBytes);
+    }
+
+    private static long record(Properties report, String name, Object... collections) {
+        long bytes = GraphLayout.parseInstance(collections).totalSize();
+        report.setProperty(name + ".bytes", Long.toString(bytes));
+        return bytes;
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecore.roles.benchmark;
+
+import com.ecore.roles.util.UuidSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Membership checks and bulk builds of {@link UuidSet} against {@code HashSet<UUID>}. Half of the
+ * probed ids are present.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UuidSetBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"1000", "100000"})
+    int size;
+
+    UUID[] ids;
+    UUID[] probes;
+    Set<UUID> hashSet;
+    UuidSet uuidSet;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        ids = new UUID[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        probes = new UUID[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] =
+                    i % 2 == 0 ? ids[random.nextInt(size)] : new UUID(random.nextLong(), random.nextLong());
+        }
+        hashSet = new HashSet<>();
+        uuidSet = new UuidSet();
+        for (UUID id : ids) {
+            hashSet.add(id);
+            uuidSet.add(id);
+        }
+    }
+
+    @Benchmark
+    public int containsHashSet() {
+        int found = 0;
+        for (UUID probe : probes) {
+            if (hashSet.contains(probe)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int containsUuidSet() {
+        int found = 0;
+        for (UUID probe : probes) {
+            if (uuidSet.contains(probe)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Set<UUID> buildHashSet() {
+        Set<UUID> set = new HashSet<>();
+        for (UUID id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public UuidSet buildUuidSet() {
+        UuidSet set = new UuidSet();
+        for (UUID id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+}
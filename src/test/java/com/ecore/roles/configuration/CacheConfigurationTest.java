@@ -0,0 +1,63 @@
+package com.ecore.roles.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CacheConfigurationTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        CacheConfigurationProperties properties = new CacheConfigurationProperties();
+        properties.setRefreshThreads(1);
+        properties.setRefreshQueueCapacity(1);
+        executor = new CacheConfiguration().cacheRefreshExecutor(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldCountAndRejectRefreshWhenQueueIsFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            await(release);
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.execute(() -> {
+        });
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        assertThatThrownBy(() -> executor.execute(() -> ranOn.set(Thread.currentThread())))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(ranOn).hasValue(null);
+        assertThat(meterRegistry.counter("roles.cache.refresh.discarded").count()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
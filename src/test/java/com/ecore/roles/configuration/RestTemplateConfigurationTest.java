@@ -0,0 +1,102 @@
+package com.ecore.roles.configuration;
+
+import com.ecore.roles.client.TeamsClient;
+import com.ecore.roles.client.UpstreamHttpCacheStorage;
+import com.ecore.roles.client.model.Team;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ecore.roles.utils.TestData.ORDINARY_CORAL_LYNX_TEAM_UUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RestTemplateConfigurationTest {
+
+    private static final String ETAG = "\"v1\"";
+    private static final UUID SLOW_TEAM_UUID = UUID.randomUUID();
+
+    private final AtomicInteger fullResponses = new AtomicInteger();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+
+    private HttpServer upstream;
+    private CloseableHttpClient httpClient;
+    private TeamsClient teamsClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.createContext("/teams/" + SLOW_TEAM_UUID, exchange -> {
+            try {
+                Thread.sleep(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        upstream.createContext("/teams", exchange -> {
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            exchange.getResponseHeaders().add("Cache-Control", "max-age=0");
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModifiedResponses.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                fullResponses.incrementAndGet();
+                byte[] body = ("{\"id\":\"" + ORDINARY_CORAL_LYNX_TEAM_UUID + "\",\"name\":\"System Team\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        upstream.start();
+
+        ClientsConfigurationProperties properties = new ClientsConfigurationProperties();
+        properties.setTeamsApiHost("http://localhost:" + upstream.getAddress().getPort() + "/teams");
+        properties.setReadTimeout(Duration.ofMillis(200));
+        RestTemplateConfiguration configuration = new RestTemplateConfiguration();
+        httpClient = configuration.upstreamHttpClient(properties,
+                new UpstreamHttpCacheStorage(properties));
+        teamsClient = new TeamsClient(configuration.restTemplate(new RestTemplateBuilder(), httpClient),
+                properties,
+                new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        upstream.stop(0);
+    }
+
+    @Test
+    void shouldRevalidateAndReuseCachedBodyOnNotModified() {
+        Team first = teamsClient.getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID).getBody();
+        Team second = teamsClient.getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID).getBody();
+
+        assertThat(first.getName()).isEqualTo("System Team");
+        assertThat(second.getName()).isEqualTo("System Team");
+        assertThat(fullResponses).hasValue(1);
+        assertThat(notModifiedResponses).hasValue(1);
+    }
+
+    @Test
+    void shouldTimeOutWhenUpstreamStopsResponding() {
+        assertThatThrownBy(() -> teamsClient.getTeam(SLOW_TEAM_UUID))
+                .isInstanceOf(ResourceAccessException.class)
+                .hasRootCauseInstanceOf(SocketTimeoutException.class);
+    }
+}
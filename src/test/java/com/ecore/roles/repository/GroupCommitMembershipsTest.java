@@ -0,0 +1,121 @@
+package com.ecore.roles.repository;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.exception.ResourceExistsException;
+import com.ecore.roles.service.MembershipsService;
+import com.ecore.roles.service.TeamsService;
+import com.ecore.roles.service.model.Membership;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static com.ecore.roles.utils.TestData.DEVELOPER_ROLE;
+import static com.ecore.roles.utils.TestData.GIANNI_USER_UUID;
+import static com.ecore.roles.utils.TestData.TESTER_ROLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "group-commit.enabled=true",
+        "group-commit.window=500ms",
+        "group-commit.max-batch-size=8"})
+class GroupCommitMembershipsTest {
+
+    private final MembershipsService membershipsService;
+    private final MembershipRepository membershipRepository;
+    private final MeterRegistry meterRegistry;
+
+    @MockBean
+    private TeamsService teamsService;
+
+    @Autowired
+    GroupCommitMembershipsTest(
+            MembershipsService membershipsService,
+            MembershipRepository membershipRepository,
+            MeterRegistry meterRegistry) {
+        this.membershipsService = membershipsService;
+        this.membershipRepository = membershipRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Test
+    void shouldCommitConcurrentCreationsTogetherAndReportConflictsPerCaller() {
+        when(teamsService.getTeam(any())).thenAnswer(invocation -> Team.builder()
+                .id(invocation.getArgument(0))
+                .teamLeadId(GIANNI_USER_UUID)
+                .teamMemberIds(List.of())
+                .build());
+        List<UUID> teamIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            teamIds.add(UUID.randomUUID());
+        }
+        teamIds.add(teamIds.get(0));
+
+        ExecutorService callers = Executors.newFixedThreadPool(teamIds.size());
+        try {
+            List<CompletableFuture<Membership>> results = teamIds.stream()
+                    .map(teamId -> CompletableFuture.supplyAsync(() -> membershipsService.createMembership(
+                            Membership.builder()
+                                    .role(DEVELOPER_ROLE())
+                                    .userId(GIANNI_USER_UUID)
+                                    .teamId(teamId)
+                                    .build()),
+                            callers))
+                    .collect(Collectors.toList());
+
+            List<Membership> created = new ArrayList<>();
+            List<Throwable> failures = new ArrayList<>();
+            for (CompletableFuture<Membership> result : results) {
+                try {
+                    created.add(result.join());
+                } catch (CompletionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+
+            assertThat(created).hasSize(7)
+                    .allSatisfy(membership -> assertThat(membership.getId()).isNotNull());
+            assertThat(failures).singleElement().isInstanceOf(ResourceExistsException.class);
+            assertThat(teamIds.stream().distinct())
+                    .allSatisfy(teamId -> assertThat(
+                            membershipRepository.findByUserIdAndTeamId(GIANNI_USER_UUID, teamId))
+                                    .isPresent());
+            assertThat(
+                    meterRegistry.get("roles.batch.size").tag("batcher", "membership-writes").summary().max())
+                            .isGreaterThan(1);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRejectSecondRoleForSameTeamAndUser() {
+        UUID teamId = UUID.randomUUID();
+        membershipRepository.saveAndFlush(Membership.builder()
+                .role(DEVELOPER_ROLE())
+                .userId(GIANNI_USER_UUID)
+                .teamId(teamId)
+                .build());
+
+        assertThatThrownBy(() -> membershipRepository.saveAndFlush(Membership.builder()
+                .role(TESTER_ROLE())
+                .userId(GIANNI_USER_UUID)
+                .teamId(teamId)
+                .build()))
+                        .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
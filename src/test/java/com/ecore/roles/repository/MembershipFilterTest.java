@@ -0,0 +1,70 @@
+package com.ecore.roles.repository;
+
+import com.ecore.roles.exception.ResourceNotFoundException;
+import com.ecore.roles.service.RolesService;
+import com.ecore.roles.service.TeamsService;
+import com.ecore.roles.service.impl.MembershipFilterServiceImpl;
+import com.ecore.roles.service.model.Membership;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.UUID;
+
+import static com.ecore.roles.utils.TestData.DEVELOPER_ROLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@SpringBootTest(properties = {
+        "membership-filter.enabled=true",
+        "membership-filter.sync-interval=1h"})
+class MembershipFilterTest {
+
+    private final MembershipFilterServiceImpl membershipFilterService;
+    private final MembershipRepository membershipRepository;
+    private final RolesService rolesService;
+
+    @MockBean
+    private TeamsService teamsService;
+
+    @Autowired
+    MembershipFilterTest(
+            MembershipFilterServiceImpl membershipFilterService,
+            MembershipRepository membershipRepository,
+            RolesService rolesService) {
+        this.membershipFilterService = membershipFilterService;
+        this.membershipRepository = membershipRepository;
+        this.rolesService = rolesService;
+    }
+
+    @Test
+    void shouldRuleOutUnknownPairsAndPickUpRowsInsertedElsewhere() {
+        Membership existing = insert();
+        membershipFilterService.build();
+
+        assertThat(membershipFilterService.isBuilt()).isTrue();
+        assertThat(membershipFilterService.mightExist(existing.getTeamId(), existing.getUserId())).isTrue();
+        UUID teamId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        assertThat(membershipFilterService.mightExist(teamId, userId)).isFalse();
+        assertThrows(ResourceNotFoundException.class, () -> rolesService.getRole(teamId, userId));
+        verifyNoInteractions(teamsService);
+
+        Membership insertedElsewhere = insert();
+        membershipFilterService.sync();
+
+        assertThat(membershipFilterService.mightExist(insertedElsewhere.getTeamId(),
+                insertedElsewhere.getUserId()))
+                        .isTrue();
+    }
+
+    private Membership insert() {
+        return membershipRepository.save(Membership.builder()
+                .role(DEVELOPER_ROLE())
+                .teamId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .build());
+    }
+}
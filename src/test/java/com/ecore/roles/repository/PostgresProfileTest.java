@@ -0,0 +1,85 @@
+package com.ecore.roles.repository;
+
+import com.ecore.roles.service.model.Membership;
+import com.ecore.roles.service.model.MembershipView;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static com.ecore.roles.utils.TestData.DEFAULT_MEMBERSHIP;
+import static com.ecore.roles.utils.TestData.DEVELOPER_ROLE_UUID;
+import static com.ecore.roles.utils.TestData.GIANNI_USER_UUID;
+import static com.ecore.roles.utils.TestData.ORDINARY_CORAL_LYNX_TEAM_UUID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("postgres")
+@SpringBootTest
+class PostgresProfileTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    private final MembershipRepository membershipRepository;
+    private final RoleRepository roleRepository;
+
+    @Autowired
+    PostgresProfileTest(MembershipRepository membershipRepository, RoleRepository roleRepository) {
+        this.membershipRepository = membershipRepository;
+        this.roleRepository = roleRepository;
+    }
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        POSTGRES.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        membershipRepository.deleteAll();
+    }
+
+    @Test
+    void shouldApplyMigrationsOnPostgres() {
+        assertThat(roleRepository.findById(DEVELOPER_ROLE_UUID)).isPresent();
+    }
+
+    @Test
+    void shouldStoreAndProjectMembershipsOnPostgres() {
+        Membership membership = DEFAULT_MEMBERSHIP();
+        membership.setId(null);
+        membershipRepository.save(membership);
+
+        assertThat(membershipRepository
+                .findByUserIdAndTeamId(GIANNI_USER_UUID, ORDINARY_CORAL_LYNX_TEAM_UUID))
+                        .isPresent();
+
+        List<MembershipView> views = membershipRepository.findByRoleId(DEVELOPER_ROLE_UUID);
+        assertThat(views).hasSize(1);
+        assertThat(views.get(0).getUserId()).isEqualTo(GIANNI_USER_UUID);
+        assertThat(views.get(0).getTeamId()).isEqualTo(ORDINARY_CORAL_LYNX_TEAM_UUID);
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
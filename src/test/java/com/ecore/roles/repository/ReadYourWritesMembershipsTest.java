@@ -0,0 +1,197 @@
+package com.ecore.roles.repository;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.exception.ResourceNotFoundException;
+import com.ecore.roles.repository.routing.ReadYourWritesContextHolder;
+import com.ecore.roles.service.MembershipsService;
+import com.ecore.roles.service.TeamsService;
+import com.ecore.roles.service.model.Membership;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.ecore.roles.utils.TestData.DEVELOPER_ROLE;
+import static com.ecore.roles.utils.TestData.GIANNI_USER_UUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs against a replica that never receives the primary's writes, so any read routed to it after a
+ * write misses the written rows.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ryw-primary;DB_CLOSE_DELAY=-1",
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=" + ReadYourWritesMembershipsTest.REPLICA_URL,
+        "datasource.replica.username=sa",
+        "datasource.replica.password=",
+        "datasource.replica.read-your-writes-window=1m",
+        "batching.window=5s",
+        "group-commit.enabled=true",
+        "group-commit.window=5s"})
+class ReadYourWritesMembershipsTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:ryw-replica;DB_CLOSE_DELAY=-1";
+
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    private final MembershipsService membershipsService;
+
+    @MockBean
+    private TeamsService teamsService;
+
+    @SpyBean
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    ReadYourWritesMembershipsTest(MembershipsService membershipsService) {
+        this.membershipsService = membershipsService;
+    }
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(teamsService.getTeam(any())).thenAnswer(invocation -> Team.builder()
+                .id(invocation.getArgument(0))
+                .teamLeadId(GIANNI_USER_UUID)
+                .teamMemberIds(List.of())
+                .build());
+    }
+
+    @Test
+    void shouldReadFromPrimaryOnlyForCallerWithinWindowWhenLookupsRunConcurrently() throws Exception {
+        Membership membership = createMembership(UUID.randomUUID());
+        long primaryUntil = System.currentTimeMillis() + WINDOW.toMillis() / 2;
+        UUID blockerTeamId = UUID.randomUUID();
+        CountDownLatch blockerLoading = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            blockerLoading.countDown();
+            releaseBlocker.await(5, TimeUnit.SECONDS);
+            return List.of();
+        }).when(membershipRepository).findByTeamIdInAndUserIdIn(
+                argThat((Collection<UUID> teamIds) -> teamIds.contains(blockerTeamId)), any());
+
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            // A lookup in flight keeps the next batch open until it completes, so that the two
+            // callers below share that batch.
+            CompletableFuture<Boolean> blocker = CompletableFuture.supplyAsync(
+                    () -> inSession(0, () -> found(blockerTeamId, GIANNI_USER_UUID)), callers);
+            assertThat(blockerLoading.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Boolean> writer = CompletableFuture.supplyAsync(
+                    () -> inSession(primaryUntil,
+                            () -> found(membership.getTeamId(), membership.getUserId())),
+                    callers);
+            CompletableFuture<Boolean> other = CompletableFuture.supplyAsync(
+                    () -> inSession(0, () -> found(membership.getTeamId(), membership.getUserId())), callers);
+            Thread.sleep(200);
+            releaseBlocker.countDown();
+
+            assertThat(blocker.get(5, TimeUnit.SECONDS)).isFalse();
+            assertThat(writer.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(other.get(5, TimeUnit.SECONDS)).isFalse();
+        } finally {
+            releaseBlocker.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldKeepEveryCallerOfGroupCommitOnPrimary() throws Exception {
+        UUID blockerTeamId = UUID.randomUUID();
+        CountDownLatch blockerCommitting = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            blockerCommitting.countDown();
+            releaseBlocker.await(5, TimeUnit.SECONDS);
+            return List.of();
+        }).when(membershipRepository).findByTeamIdInAndUserIdIn(
+                argThat((Collection<UUID> teamIds) -> teamIds.contains(blockerTeamId)), any());
+
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            // A commit in flight keeps the next batch open until it completes, so that the two
+            // callers below share that batch and only one of them leads it.
+            CompletableFuture<Long> blocker = CompletableFuture.supplyAsync(
+                    () -> deadlineAfterCreating(blockerTeamId), callers);
+            assertThat(blockerCommitting.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Long> first = CompletableFuture.supplyAsync(
+                    () -> deadlineAfterCreating(UUID.randomUUID()), callers);
+            CompletableFuture<Long> second = CompletableFuture.supplyAsync(
+                    () -> deadlineAfterCreating(UUID.randomUUID()), callers);
+            Thread.sleep(200);
+            releaseBlocker.countDown();
+
+            long now = System.currentTimeMillis();
+            assertThat(blocker.get(5, TimeUnit.SECONDS)).isGreaterThan(now);
+            assertThat(first.get(5, TimeUnit.SECONDS)).isGreaterThan(now);
+            assertThat(second.get(5, TimeUnit.SECONDS)).isGreaterThan(now);
+        } finally {
+            releaseBlocker.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    private long deadlineAfterCreating(UUID teamId) {
+        AtomicLong deadline = new AtomicLong();
+        ReadYourWritesContextHolder.open(0, WINDOW, deadline::set);
+        try {
+            createMembership(teamId);
+            return deadline.get();
+        } finally {
+            ReadYourWritesContextHolder.close();
+        }
+    }
+
+    private Membership createMembership(UUID teamId) {
+        return membershipsService.createMembership(Membership.builder()
+                .role(DEVELOPER_ROLE())
+                .userId(GIANNI_USER_UUID)
+                .teamId(teamId)
+                .build());
+    }
+
+    private boolean found(UUID teamId, UUID userId) {
+        try {
+            membershipsService.getMembership(teamId, userId);
+            return true;
+        } catch (ResourceNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static <T> T inSession(long primaryUntil, Supplier<T> action) {
+        ReadYourWritesContextHolder.open(primaryUntil, WINDOW, deadline -> {
+        });
+        try {
+            return action.get();
+        } finally {
+            ReadYourWritesContextHolder.close();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ecore.roles.repository;
+
+import com.ecore.roles.service.RolesService;
+import com.ecore.roles.service.TeamsService;
+import com.ecore.roles.service.impl.RoleIndexServiceImpl;
+import com.ecore.roles.service.model.Membership;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.UUID;
+
+import static com.ecore.roles.utils.TestData.DEVELOPER_ROLE;
+import static com.ecore.roles.utils.TestData.DEVELOPER_ROLE_UUID;
+import static com.ecore.roles.utils.TestData.ORDINARY_CORAL_LYNX_TEAM;
+import static com.ecore.roles.utils.TestData.ORDINARY_CORAL_LYNX_TEAM_UUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "role-index.enabled=true",
+        "role-index.path=target/role-index-test/role-index.bin",
+        "role-index.initial-capacity=16"})
+class RoleIndexTest {
+
+    private final RoleIndexServiceImpl roleIndexService;
+    private final MembershipRepository membershipRepository;
+    private final RolesService rolesService;
+
+    @MockBean
+    private TeamsService teamsService;
+
+    @Autowired
+    RoleIndexTest(
+            RoleIndexServiceImpl roleIndexService,
+            MembershipRepository membershipRepository,
+            RolesService rolesService) {
+        this.roleIndexService = roleIndexService;
+        this.membershipRepository = membershipRepository;
+        this.rolesService = rolesService;
+    }
+
+    @Test
+    void shouldRebuildFromTheDatabaseAndIndexReadThroughs() {
+        Membership existing = insert();
+        roleIndexService.rebuild();
+
+        assertThat(roleIndexService.findRole(existing.getTeamId(), existing.getUserId()).getId())
+                .isEqualTo(DEVELOPER_ROLE_UUID);
+
+        when(teamsService.getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID)).thenReturn(ORDINARY_CORAL_LYNX_TEAM());
+        for (int i = 0; i < 20; i++) {
+            Membership insertedElsewhere = insert();
+            assertThat(
+                    roleIndexService.findRole(insertedElsewhere.getTeamId(), insertedElsewhere.getUserId()))
+                            .isNull();
+            assertThat(rolesService.getRole(insertedElsewhere.getTeamId(), insertedElsewhere.getUserId())
+                    .getId()).isEqualTo(DEVELOPER_ROLE_UUID);
+            assertThat(roleIndexService.findRole(insertedElsewhere.getTeamId(), insertedElsewhere.getUserId())
+                    .getId()).isEqualTo(DEVELOPER_ROLE_UUID);
+        }
+    }
+
+    @Test
+    void shouldDiscardFileBuiltFromMoreMembershipsThanTheDatabaseHolds() {
+        Membership existing = insert();
+        roleIndexService.rebuild();
+        membershipRepository.deleteAll();
+
+        roleIndexService.open();
+
+        assertThat(roleIndexService.findRole(existing.getTeamId(), existing.getUserId())).isNull();
+    }
+
+    private Membership insert() {
+        return membershipRepository.save(Membership.builder()
+                .role(DEVELOPER_ROLE())
+                .teamId(ORDINARY_CORAL_LYNX_TEAM_UUID)
+                .userId(UUID.randomUUID())
+                .build());
+    }
+}
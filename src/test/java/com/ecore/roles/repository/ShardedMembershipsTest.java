@@ -0,0 +1,131 @@
+package com.ecore.roles.repository;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.repository.routing.MembershipShardRouter;
+import com.ecore.roles.service.MembershipsService;
+import com.ecore.roles.service.RolesService;
+import com.ecore.roles.service.TeamsService;
+import com.ecore.roles.service.model.Membership;
+import com.ecore.roles.service.model.MembershipView;
+import com.ecore.roles.service.model.Role;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.ecore.roles.utils.TestData.DEVELOPER_ROLE;
+import static com.ecore.roles.utils.TestData.GIANNI_USER_UUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "datasource.sharding.enabled=true",
+        "datasource.sharding.shards[0].url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+        "datasource.sharding.shards[0].username=sa",
+        "datasource.sharding.shards[1].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+        "datasource.sharding.shards[1].username=sa"})
+class ShardedMembershipsTest {
+
+    private final MembershipsService membershipsService;
+    private final RolesService rolesService;
+    private final MembershipShardRouter shardRouter;
+    private final RoleRepository roleRepository;
+
+    @MockBean
+    private TeamsService teamsService;
+
+    @Autowired
+    ShardedMembershipsTest(
+            MembershipsService membershipsService,
+            RolesService rolesService,
+            MembershipShardRouter shardRouter,
+            RoleRepository roleRepository) {
+        this.membershipsService = membershipsService;
+        this.rolesService = rolesService;
+        this.shardRouter = shardRouter;
+        this.roleRepository = roleRepository;
+    }
+
+    @Test
+    void shouldPartitionMembershipsByTeamAndGatherThemByRole() {
+        when(teamsService.getTeam(any())).thenAnswer(invocation -> Team.builder()
+                .id(invocation.getArgument(0))
+                .teamLeadId(GIANNI_USER_UUID)
+                .teamMemberIds(List.of())
+                .build());
+        List<UUID> teamIds = new ArrayList<>();
+        while (teamIds.stream().map(shardRouter::shardOf).distinct().count() < 2 || teamIds.size() < 6) {
+            teamIds.add(UUID.randomUUID());
+        }
+
+        for (UUID teamId : teamIds) {
+            membershipsService.createMembership(Membership.builder()
+                    .role(DEVELOPER_ROLE())
+                    .userId(GIANNI_USER_UUID)
+                    .teamId(teamId)
+                    .build());
+        }
+
+        for (UUID teamId : teamIds) {
+            int shard = shardRouter.shardOf(teamId);
+            assertThat(countMemberships(shard, teamId)).isEqualTo(1);
+            assertThat(countMemberships(1 - shard, teamId)).isZero();
+            assertThat(membershipsService.getMembership(teamId, GIANNI_USER_UUID).getTeamId())
+                    .isEqualTo(teamId);
+        }
+
+        List<MembershipView> all = membershipsService.getMemberships(DEVELOPER_ROLE().getId());
+        assertThat(all).extracting(MembershipView::getTeamId).containsExactlyInAnyOrderElementsOf(teamIds);
+        List<String> orderedIds = all.stream()
+                .map(membership -> membership.getId().toString())
+                .collect(Collectors.toList());
+        assertThat(orderedIds).isSortedAccordingTo(Comparator.naturalOrder());
+
+        List<MembershipView> secondPage = membershipsService.getMemberships(DEVELOPER_ROLE().getId(), 1, 2);
+        assertThat(secondPage).extracting(MembershipView::getId)
+                .containsExactly(all.get(2).getId(), all.get(3).getId());
+    }
+
+    @Test
+    void shouldReplicateRolesToEveryShard() {
+        Role role = rolesService.createRole(Role.builder().name("Sharded " + UUID.randomUUID()).build());
+
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            assertThat(shardJdbcTemplate(shard).queryForObject(
+                    "select count(*) from role where id = ?", Integer.class, role.getId().toString()))
+                            .isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldReplayRoleCopyIdempotently() {
+        Role role = rolesService.createRole(Role.builder().name("Replayed " + UUID.randomUUID()).build());
+
+        shardRouter.onOtherShards(() -> roleRepository.insertCopy(role.getId().toString(), role.getName()));
+
+        assertThat(shardJdbcTemplate(1).queryForObject(
+                "select count(*) from role where id = ?", Integer.class, role.getId().toString()))
+                        .isEqualTo(1);
+    }
+
+    private int countMemberships(int shard, UUID teamId) {
+        return shardJdbcTemplate(shard).queryForObject(
+                "select count(*) from membership where team_id = ?", Integer.class, teamId.toString());
+    }
+
+    private static JdbcTemplate shardJdbcTemplate(int shard) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:shard" + shard + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return new JdbcTemplate(dataSource);
+    }
+}
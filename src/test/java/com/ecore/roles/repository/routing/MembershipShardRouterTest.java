@@ -0,0 +1,118 @@
+package com.ecore.roles.repository.routing;
+
+import com.ecore.roles.configuration.ShardingConfigurationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MembershipShardRouterTest {
+
+    private MembershipShardRouter router;
+
+    @AfterEach
+    void tearDown() {
+        if (router != null) {
+            router.destroy();
+        }
+    }
+
+    @Test
+    void shouldUseSingleShardWhenShardingIsDisabled() {
+        router = new MembershipShardRouter(new ShardingConfigurationProperties());
+
+        assertThat(router.getShardCount()).isEqualTo(1);
+        assertThat(router.onShard(UUID.randomUUID(), ShardContextHolder::getShard)).isNull();
+    }
+
+    @Test
+    void shouldRouteTeamsToStableShards() {
+        router = new MembershipShardRouter(shardingProperties(4));
+
+        for (int i = 0; i < 100; i++) {
+            UUID teamId = UUID.randomUUID();
+            int shard = router.shardOf(teamId);
+
+            assertThat(shard).isBetween(0, 3);
+            assertThat(router.shardOf(UUID.fromString(teamId.toString()))).isEqualTo(shard);
+            assertThat(router.onShard(teamId, ShardContextHolder::getShard)).isEqualTo(shard);
+        }
+        assertThat(ShardContextHolder.getShard()).isNull();
+    }
+
+    @Test
+    void shouldRunOnOtherShards() {
+        router = new MembershipShardRouter(shardingProperties(3));
+        List<Integer> visited = new ArrayList<>();
+
+        router.onOtherShards(() -> visited.add(ShardContextHolder.getShard()));
+
+        assertThat(visited).containsExactly(1, 2);
+    }
+
+    @Test
+    void shouldScatterGatherMergedOrderedPages() {
+        router = new MembershipShardRouter(shardingProperties(3));
+
+        List<Integer> page = router.scatterGather(
+                (p, size) -> IntStream.range(0, 10)
+                        .map(i -> i * 3 + ShardContextHolder.getShard())
+                        .skip((long) p * size)
+                        .limit(size)
+                        .boxed()
+                        .collect(Collectors.toList()),
+                Comparator.naturalOrder(),
+                1,
+                4);
+
+        assertThat(page).containsExactly(4, 5, 6, 7);
+    }
+
+    @Test
+    void shouldPassPageToQueryWithSingleShard() {
+        router = new MembershipShardRouter(new ShardingConfigurationProperties());
+        List<Integer> requested = new ArrayList<>();
+
+        List<Integer> page = router.scatterGather(
+                (p, size) -> {
+                    requested.add(p);
+                    requested.add(size);
+                    return List.of(8, 9);
+                },
+                Comparator.naturalOrder(),
+                4,
+                2);
+
+        assertThat(requested).containsExactly(4, 2);
+        assertThat(page).containsExactly(8, 9);
+    }
+
+    @Test
+    void shouldReturnEmptyPageAfterLastResult() {
+        router = new MembershipShardRouter(shardingProperties(2));
+
+        List<Integer> page = router.scatterGather(
+                (p, size) -> List.of(ShardContextHolder.getShard()),
+                Comparator.naturalOrder(),
+                2,
+                5);
+
+        assertThat(page).isEmpty();
+    }
+
+    private static ShardingConfigurationProperties shardingProperties(int shards) {
+        ShardingConfigurationProperties properties = new ShardingConfigurationProperties();
+        properties.setEnabled(true);
+        for (int i = 0; i < shards; i++) {
+            properties.getShards().add(new ShardingConfigurationProperties.Shard());
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,133 @@
+package com.ecore.roles.repository.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadYourWritesContextHolder.close();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        ReplicaRoutingDataSource routing = routing();
+
+        assertThat(serverName(routing, true)).isEqualTo("replica");
+        assertThat(serverName(routing, false)).isEqualTo("primary");
+        assertThat(meterRegistry.get("roles.datasource.routes").tag("pool", "replica").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldReadFromPrimaryWithinReadYourWritesWindow() throws SQLException {
+        ReplicaRoutingDataSource routing = routing();
+        AtomicLong issued = new AtomicLong();
+        ReadYourWritesContextHolder.open(0, Duration.ofMinutes(1), issued::set);
+
+        commitWrite(routing);
+
+        assertThat(serverName(routing, true)).isEqualTo("primary");
+        assertThat(issued.get()).isGreaterThan(System.currentTimeMillis());
+
+        ReadYourWritesContextHolder.open(issued.get(), Duration.ofMinutes(1), deadline -> {
+        });
+        assertThat(serverName(routing, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldKeepOtherClientsOnReplicaAfterWrite() throws SQLException {
+        ReplicaRoutingDataSource routing = routing();
+        ReadYourWritesContextHolder.open(0, Duration.ofMinutes(1), deadline -> {
+        });
+
+        commitWrite(routing);
+
+        ReadYourWritesContextHolder.open(0, Duration.ofMinutes(1), deadline -> {
+        });
+        assertThat(serverName(routing, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldIgnoreDeadlineBeyondWindow() {
+        ReplicaRoutingDataSource routing = routing();
+
+        ReadYourWritesContextHolder.open(System.currentTimeMillis() + Duration.ofHours(1).toMillis(),
+                Duration.ofSeconds(1), deadline -> {
+                });
+
+        assertThat(serverName(routing, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldReadFromReplicaOnceReadYourWritesWindowIsOver() throws SQLException {
+        ReplicaRoutingDataSource routing = routing();
+        ReadYourWritesContextHolder.open(0, Duration.ZERO, deadline -> {
+        });
+
+        commitWrite(routing);
+
+        assertThat(serverName(routing, true)).isEqualTo("replica");
+    }
+
+    private ReplicaRoutingDataSource routing() {
+        return new ReplicaRoutingDataSource(primary, replica, meterRegistry);
+    }
+
+    private void commitWrite(ReplicaRoutingDataSource routing) throws SQLException {
+        TransactionSynchronizationManager.initSynchronization();
+        routing.getConnection().close();
+        TransactionSynchronizationUtils
+                .invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private static String serverName(DataSource dataSource, boolean readOnly) {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        try {
+            return new JdbcTemplate(dataSource).queryForObject("select name from server", String.class);
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists server (name varchar(16))");
+        jdbcTemplate.execute("delete from server");
+        jdbcTemplate.update("insert into server (name) values (?)", name);
+        return dataSource;
+    }
+}
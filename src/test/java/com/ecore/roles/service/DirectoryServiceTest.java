@@ -0,0 +1,169 @@
+package com.ecore.roles.service;
+
+import com.ecore.roles.client.model.Team;
+import com.ecore.roles.client.model.User;
+import com.ecore.roles.exception.InvalidArgumentException;
+import com.ecore.roles.service.event.ResourceChangedEvent;
+import com.ecore.roles.service.event.SnapshotRefreshedEvent;
+import com.ecore.roles.service.directory.DirectoryIndex;
+import com.ecore.roles.service.impl.DirectoryServiceImpl;
+import com.ecore.roles.service.impl.SearchServiceImpl;
+import com.ecore.roles.service.model.DirectoryPage;
+import com.ecore.roles.service.model.DirectoryQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.ecore.roles.utils.TestData.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DirectoryServiceTest {
+
+    private DirectoryServiceImpl directoryService;
+
+    @Mock
+    private UsersService usersService;
+    @Mock
+    private TeamsService teamsService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        directoryService = new DirectoryServiceImpl(
+                usersService, teamsService, Runnable::run, eventPublisher, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldPageUsersWithStableCursor() {
+        List<User> users = new ArrayList<>(List.of(user(UUID_1, "alice"), user(UUID_2, "bob"),
+                user(UUID_3, "carol"), user(UUID_4, "dave")));
+        when(usersService.getUsers()).thenReturn(users);
+
+        DirectoryPage<User> first = directoryService.findUsers(query(2).build());
+        assertThat(first.getItems()).extracting(User::getDisplayName).containsExactly("alice", "bob");
+
+        users.add(user(UUID.randomUUID(), "aaron"));
+        directoryService.onResourceChanged(ResourceChangedEvent.all(User.class));
+
+        DirectoryPage<User> second =
+                directoryService.findUsers(query(2).cursor(first.getNextCursor()).build());
+        assertThat(second.getItems()).extracting(User::getDisplayName).containsExactly("carol", "dave");
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void shouldFilterAndSortTeamsDescending() {
+        when(teamsService.getTeams()).thenReturn(List.of(
+                team(UUID_1, "Platform", UUID_1), team(UUID_2, "Payments", UUID_1),
+                team(UUID_3, "Search", UUID_2)));
+
+        DirectoryPage<Team> page = directoryService.findTeams(query(10)
+                .namePrefix("pa")
+                .teamLeadId(UUID_1)
+                .sort("name")
+                .descending(true)
+                .build());
+
+        assertThat(page.getItems()).extracting(Team::getName).containsExactly("Payments");
+    }
+
+    @Test
+    void shouldPublishChangedIdsWhenSnapshotIsRefreshed() {
+        User alice = user(UUID_1, "alice");
+        when(usersService.getUsers())
+                .thenReturn(List.of(alice, user(UUID_2, "bob")))
+                .thenReturn(List.of(alice, user(UUID_3, "carol")));
+
+        directoryService.getUsers();
+        directoryService.refreshLoaded();
+
+        verify(eventPublisher)
+                .publishEvent(new SnapshotRefreshedEvent(User.class, Set.of(UUID_3), Set.of(UUID_2)));
+    }
+
+    @Test
+    void shouldQueueOneReloadForChangesReportedBeforeItStarts() {
+        List<Runnable> queued = new ArrayList<>();
+        directoryService = new DirectoryServiceImpl(
+                usersService, teamsService, queued::add, eventPublisher, new SimpleMeterRegistry());
+        when(usersService.getUsers()).thenReturn(List.of(user(UUID_1, "alice")));
+        directoryService.getUsers();
+
+        directoryService.onResourceChanged(ResourceChangedEvent.of(User.class, List.of(UUID_1)));
+        directoryService.onResourceChanged(ResourceChangedEvent.of(User.class, List.of(UUID_2)));
+        assertThat(queued).hasSize(1);
+        queued.remove(0).run();
+        directoryService.onResourceChanged(ResourceChangedEvent.of(User.class, List.of(UUID_3)));
+
+        assertThat(queued).hasSize(1);
+        verify(usersService, times(2)).getUsers();
+    }
+
+    @Test
+    void shouldNotDeadlockWhenFirstSearchRacesFirstListing() throws Exception {
+        SearchServiceImpl searchService = new SearchServiceImpl(directoryService);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch searching = new CountDownLatch(1);
+        when(usersService.getUsers()).thenAnswer(invocation -> {
+            loading.countDown();
+            searching.await(5, TimeUnit.SECONDS);
+            Thread.sleep(100);
+            return List.of(user(UUID_1, "alice"));
+        });
+        doAnswer(invocation -> {
+            searchService.onSnapshotRefreshed(invocation.getArgument(0));
+            return null;
+        }).when(eventPublisher).publishEvent(any(Object.class));
+
+        CompletableFuture<DirectoryIndex<User>> listing =
+                CompletableFuture.supplyAsync(directoryService::getUsers);
+        loading.await(5, TimeUnit.SECONDS);
+        CompletableFuture<List<User>> search = CompletableFuture.supplyAsync(() -> {
+            searching.countDown();
+            return searchService.searchUsers("alice", 10);
+        });
+
+        assertThat(listing.get(5, TimeUnit.SECONDS).all()).hasSize(1);
+        assertThat(search.get(5, TimeUnit.SECONDS)).extracting(User::getDisplayName).containsExactly("alice");
+    }
+
+    @Test
+    void shouldFailWhenSortIsNotSupported() {
+        when(teamsService.getTeams()).thenReturn(List.of());
+
+        assertThrows(InvalidArgumentException.class,
+                () -> directoryService.findTeams(query(10).sort("location").build()));
+    }
+
+    private static DirectoryQuery.DirectoryQueryBuilder query(int size) {
+        return DirectoryQuery.builder().size(size);
+    }
+
+    private static User user(UUID id, String displayName) {
+        return User.builder().id(id).displayName(displayName).build();
+    }
+
+    private static Team team(UUID id, String name, UUID teamLeadId) {
+        return Team.builder().id(id).name(name).teamLeadId(teamLeadId).teamMemberIds(List.of()).build();
+    }
+}
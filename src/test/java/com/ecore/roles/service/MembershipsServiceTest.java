@@ -1,26 +1,44 @@
 package com.ecore.roles.service;
 
+import com.ecore.roles.configuration.BatchingConfigurationProperties;
+import com.ecore.roles.configuration.GroupCommitConfigurationProperties;
+import com.ecore.roles.configuration.ShardingConfigurationProperties;
 import com.ecore.roles.exception.InvalidArgumentException;
 import com.ecore.roles.exception.ResourceExistsException;
 import com.ecore.roles.service.model.Membership;
+import com.ecore.roles.service.model.MembershipView;
+import com.ecore.roles.repository.routing.MembershipShardRouter;
 import com.ecore.roles.repository.MembershipRepository;
 import com.ecore.roles.service.impl.MembershipsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.ecore.roles.utils.TestData.DEFAULT_MEMBERSHIP;
 import static com.ecore.roles.utils.TestData.DEVELOPER_ROLE;
+import static com.ecore.roles.utils.TestData.DEVELOPER_ROLE_UUID;
+import static com.ecore.roles.utils.TestData.GIANNI_USER_UUID;
 import static com.ecore.roles.utils.TestData.INVALID_MEMBERSHIP;
 import static com.ecore.roles.utils.TestData.ORDINARY_CORAL_LYNX_TEAM;
+import static com.ecore.roles.utils.TestData.ORDINARY_CORAL_LYNX_TEAM_UUID;
+import static com.ecore.roles.utils.TestData.UUID_1;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
@@ -38,6 +56,27 @@ class MembershipsServiceTest {
     private UsersService usersService;
     @Mock
     private TeamsService teamsService;
+    @Mock
+    private UserTeamsService userTeamsService;
+    @Mock
+    private MembershipFilterService membershipFilterService;
+
+    @Mock
+    private RoleIndexService roleIndexService;
+
+    @Spy
+    private MembershipShardRouter shardRouter =
+            new MembershipShardRouter(new ShardingConfigurationProperties());
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private BatchingConfigurationProperties batchingProperties = new BatchingConfigurationProperties();
+    @Spy
+    private GroupCommitConfigurationProperties groupCommitProperties =
+            new GroupCommitConfigurationProperties();
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @Test
     void shouldCreateMembership() {
@@ -60,6 +99,20 @@ class MembershipsServiceTest {
         verify(rolesService).getRole(expectedMembership.getRole().getId());
     }
 
+    @Test
+    void shouldCreateMembershipWithoutFetchingTeamWhenSnapshotListsUser() {
+        Membership expectedMembership = DEFAULT_MEMBERSHIP();
+        when(userTeamsService.isKnownMember(expectedMembership.getUserId(), expectedMembership.getTeamId()))
+                .thenReturn(true);
+        when(membershipRepository.findByUserIdAndTeamId(expectedMembership.getUserId(),
+                expectedMembership.getTeamId()))
+                        .thenReturn(Optional.empty());
+        when(membershipRepository.save(expectedMembership)).thenReturn(expectedMembership);
+
+        assertEquals(expectedMembership, membershipsService.createMembership(expectedMembership));
+        verify(teamsService, never()).getTeam(any());
+    }
+
     @Test
     void shouldFailToCreateMembershipWhenMembershipsIsNull() {
         assertThrows(NullPointerException.class,
@@ -163,4 +216,34 @@ class MembershipsServiceTest {
                 () -> membershipsService.getMemberships(null));
     }
 
+    @Test
+    void shouldGetMembershipsAsProjections() {
+        MembershipView expectedView = mock(MembershipView.class);
+        when(membershipRepository.findByRoleId(DEVELOPER_ROLE_UUID))
+                .thenReturn(List.of(expectedView));
+
+        List<MembershipView> actualMemberships = membershipsService.getMemberships(DEVELOPER_ROLE_UUID);
+
+        assertEquals(List.of(expectedView), actualMemberships);
+        verify(membershipRepository, times(1)).findByRoleId(DEVELOPER_ROLE_UUID);
+    }
+
+    @Test
+    void shouldGetMembershipFromMultiKeyQuery() {
+        when(membershipFilterService.mightExist(ORDINARY_CORAL_LYNX_TEAM_UUID, GIANNI_USER_UUID))
+                .thenReturn(true);
+        Membership otherUserMembership = DEFAULT_MEMBERSHIP();
+        otherUserMembership.setUserId(UUID_1);
+        when(membershipRepository.findByTeamIdInAndUserIdIn(
+                Set.of(ORDINARY_CORAL_LYNX_TEAM_UUID), Set.of(GIANNI_USER_UUID)))
+                        .thenReturn(List.of(otherUserMembership, DEFAULT_MEMBERSHIP()));
+
+        Membership membership =
+                membershipsService.getMembership(ORDINARY_CORAL_LYNX_TEAM_UUID, GIANNI_USER_UUID);
+
+        assertEquals(GIANNI_USER_UUID, membership.getUserId());
+        verify(membershipRepository, never()).findByUserIdAndTeamId(any(), any());
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
 }
@@ -1,7 +1,10 @@
 package com.ecore.roles.service;
 
+import com.ecore.roles.configuration.ShardingConfigurationProperties;
 import com.ecore.roles.exception.ResourceNotFoundException;
+import com.ecore.roles.repository.routing.MembershipShardRouter;
 import com.ecore.roles.repository.RoleRepository;
+import com.ecore.roles.service.event.ResourceChangedEvent;
 import com.ecore.roles.service.impl.RolesServiceImpl;
 import com.ecore.roles.service.model.Membership;
 import com.ecore.roles.service.model.Role;
@@ -9,8 +12,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
 
+import java.util.List;
 import java.util.Optional;
 
 import static com.ecore.roles.utils.TestData.*;
@@ -19,6 +26,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -38,6 +47,19 @@ class RolesServiceTest {
     @Mock
     private TeamsService teamsService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MembershipFilterService membershipFilterService;
+
+    @Mock
+    private RoleIndexService roleIndexService;
+
+    @Spy
+    private MembershipShardRouter shardRouter =
+            new MembershipShardRouter(new ShardingConfigurationProperties());
+
     @Test
     void shouldCreateRole() {
         Role developerRole = DEVELOPER_ROLE();
@@ -47,6 +69,31 @@ class RolesServiceTest {
 
         assertNotNull(role);
         assertEquals(developerRole, role);
+        verify(eventPublisher).publishEvent(ResourceChangedEvent.of(Role.class, List.of(role.getId())));
+    }
+
+    @Test
+    void shouldRemoveRoleFromEveryShardWhenReplicationFails() {
+        ShardingConfigurationProperties sharding = new ShardingConfigurationProperties();
+        sharding.setEnabled(true);
+        sharding.getShards().add(new ShardingConfigurationProperties.Shard());
+        sharding.getShards().add(new ShardingConfigurationProperties.Shard());
+        MembershipShardRouter router = new MembershipShardRouter(sharding);
+        RolesServiceImpl shardedService = new RolesServiceImpl(roleRepository, teamsService,
+                membershipsService, router, eventPublisher, membershipFilterService, roleIndexService);
+        Role developerRole = DEVELOPER_ROLE();
+        when(roleRepository.save(developerRole)).thenReturn(developerRole);
+        doThrow(new QueryTimeoutException("shard 1 unavailable"))
+                .when(roleRepository).insertCopy(any(), any());
+
+        try {
+            assertThrows(QueryTimeoutException.class, () -> shardedService.createRole(developerRole));
+        } finally {
+            router.destroy();
+        }
+
+        verify(roleRepository, times(2)).deleteCopy(DEVELOPER_ROLE_UUID.toString());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -76,6 +123,8 @@ class RolesServiceTest {
 
     @Test
     void shouldReturnRoleByTeamIdAndUserId() {
+        when(membershipFilterService.mightExist(ORDINARY_CORAL_LYNX_TEAM_UUID, GIANNI_USER_UUID))
+                .thenReturn(true);
         Role expectedRole = DEVELOPER_ROLE();
         Membership defaultMembership = DEFAULT_MEMBERSHIP();
 
@@ -90,10 +139,30 @@ class RolesServiceTest {
 
         assertNotNull(role);
         assertEquals(expectedRole, role);
+        verify(roleIndexService).put(ORDINARY_CORAL_LYNX_TEAM_UUID, GIANNI_USER_UUID, expectedRole);
+    }
+
+    @Test
+    void shouldReturnIndexedRoleWithoutLoadingMembership() {
+        when(membershipFilterService.mightExist(ORDINARY_CORAL_LYNX_TEAM_UUID, GIANNI_USER_UUID))
+                .thenReturn(true);
+        when(teamsService.getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID))
+                .thenReturn(ORDINARY_CORAL_LYNX_TEAM(true));
+        Role expectedRole = DEVELOPER_ROLE();
+        when(roleIndexService.findRole(ORDINARY_CORAL_LYNX_TEAM_UUID, GIANNI_USER_UUID))
+                .thenReturn(expectedRole);
+
+        Role role = rolesService.getRole(ORDINARY_CORAL_LYNX_TEAM_UUID, GIANNI_USER_UUID);
+
+        assertEquals(expectedRole, role);
+        verify(membershipsService, times(0)).getMembership(any(), any());
+        verify(roleRepository, times(0)).findById(any());
     }
 
     @Test
     void shouldFailToGetRoleByTeamIdAndUserIdIfTheTeamDoesNotExists() {
+        when(membershipFilterService.mightExist(ORDINARY_CORAL_LYNX_TEAM_UUID, GIANNI_USER_UUID))
+                .thenReturn(true);
         when(teamsService.getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID))
                 .thenReturn(null);
 
@@ -110,6 +179,8 @@ class RolesServiceTest {
 
     @Test
     void shouldFailToGetRoleByTeamIdAndUserIdIfTheMembershipDoesNotExists() {
+        when(membershipFilterService.mightExist(ORDINARY_CORAL_LYNX_TEAM_UUID, GIANNI_USER_UUID))
+                .thenReturn(true);
         when(teamsService.getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID))
                 .thenReturn(ORDINARY_CORAL_LYNX_TEAM(true));
         when(membershipsService.getMembership(ORDINARY_CORAL_LYNX_TEAM_UUID, GIANNI_USER_UUID))
@@ -125,4 +196,15 @@ class RolesServiceTest {
         verify(roleRepository, times(0)).findAllById(any());
 
     }
+
+    @Test
+    void shouldFailToGetRoleByTeamIdAndUserIdWithoutIoWhenFilterRulesOutMembership() {
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> rolesService.getRole(ORDINARY_CORAL_LYNX_TEAM_UUID, GIANNI_USER_UUID));
+
+        assertEquals(format("Resource Membership not found. Invalid userId (%s) and teamId (%s) combination.",
+                GIANNI_USER_UUID, ORDINARY_CORAL_LYNX_TEAM_UUID), exception.getMessage());
+        verify(teamsService, times(0)).getTeam(any());
+        verify(membershipsService, times(0)).getMembership(any(), any());
+    }
 }
@@ -0,0 +1,125 @@
+package com.ecore.roles.service;
+
+import com.ecore.roles.client.model.User;
+import com.ecore.roles.configuration.HydrationConfigurationProperties;
+import com.ecore.roles.exception.UpstreamTimeoutException;
+import com.ecore.roles.service.impl.TeamDetailsServiceImpl;
+import com.ecore.roles.service.model.MembershipView;
+import com.ecore.roles.service.model.TeamDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.ecore.roles.utils.TestData.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TeamDetailsServiceTest {
+
+    private final HydrationConfigurationProperties properties = new HydrationConfigurationProperties();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private TeamDetailsServiceImpl teamDetailsService;
+
+    @Mock
+    private TeamsService teamsService;
+    @Mock
+    private UsersService usersService;
+    @Mock
+    private MembershipsService membershipsService;
+    @Mock
+    private RolesService rolesService;
+
+    @BeforeEach
+    void setUp() {
+        teamDetailsService = new TeamDetailsServiceImpl(
+                teamsService, usersService, membershipsService, rolesService, executor, properties);
+        when(teamsService.getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID)).thenReturn(ORDINARY_CORAL_LYNX_TEAM());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldExpandMembersWithTheirRoles() {
+        when(usersService.getUser(any(UUID.class)))
+                .thenAnswer(invocation -> User.builder().id(invocation.getArgument(0)).build());
+        MembershipView gianniMembership = membershipView(GIANNI_USER_UUID);
+        when(membershipsService.getTeamMemberships(ORDINARY_CORAL_LYNX_TEAM_UUID))
+                .thenReturn(List.of(gianniMembership));
+        when(rolesService.getRoles(Set.of(DEVELOPER_ROLE_UUID))).thenReturn(List.of(DEVELOPER_ROLE()));
+
+        TeamDetails details = teamDetailsService.getTeamDetails(ORDINARY_CORAL_LYNX_TEAM_UUID, true, true);
+
+        assertThat(details.getMembers()).extracting(TeamDetails.Member::getUserId)
+                .containsExactly(UUID_1, UUID_2, UUID_3, GIANNI_USER_UUID);
+        assertThat(details.getMembers()).allSatisfy(member -> assertThat(member.getUser().getId())
+                .isEqualTo(member.getUserId()));
+        assertThat(details.getMembers().get(3).getRole().getId()).isEqualTo(DEVELOPER_ROLE_UUID);
+        assertThat(details.getMembers().get(0).getRole()).isNull();
+    }
+
+    @Test
+    void shouldNotFetchUsersWhenOnlyRolesAreExpanded() {
+        when(membershipsService.getTeamMemberships(ORDINARY_CORAL_LYNX_TEAM_UUID)).thenReturn(List.of());
+
+        TeamDetails details = teamDetailsService.getTeamDetails(ORDINARY_CORAL_LYNX_TEAM_UUID, false, true);
+
+        assertThat(details.getMembers()).hasSize(4);
+        verify(usersService, never()).getUser(any());
+    }
+
+    @Test
+    void shouldFailWhenMembersAreNotFetchedBeforeDeadline() {
+        properties.setDeadline(Duration.ofMillis(50));
+        when(usersService.getUser(any(UUID.class))).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return GIANNI_USER();
+        });
+
+        assertThrows(UpstreamTimeoutException.class,
+                () -> teamDetailsService.getTeamDetails(ORDINARY_CORAL_LYNX_TEAM_UUID, true, false));
+    }
+
+    @Test
+    void shouldReturnMembersWithoutUsersWhenHydrationPoolIsSaturated() {
+        TeamDetailsServiceImpl saturated = new TeamDetailsServiceImpl(
+                teamsService, usersService, membershipsService, rolesService,
+                command -> {
+                    throw new RejectedExecutionException("queue full");
+                },
+                properties);
+
+        TeamDetails details = saturated.getTeamDetails(ORDINARY_CORAL_LYNX_TEAM_UUID, true, false);
+
+        assertThat(details.getMembers()).hasSize(4)
+                .allSatisfy(member -> assertThat(member.getUser()).isNull());
+        verify(usersService, never()).getUser(any());
+    }
+
+    private static MembershipView membershipView(UUID userId) {
+        MembershipView view = mock(MembershipView.class);
+        when(view.getRoleId()).thenReturn(DEVELOPER_ROLE_UUID);
+        when(view.getUserId()).thenReturn(userId);
+        return view;
+    }
+}
@@ -2,28 +2,44 @@ package com.ecore.roles.service;
 
 import com.ecore.roles.client.TeamsClient;
 import com.ecore.roles.client.model.Team;
+import com.ecore.roles.configuration.CacheConfigurationProperties;
 import com.ecore.roles.service.impl.TeamsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
 
 import static com.ecore.roles.utils.TestData.ORDINARY_CORAL_LYNX_TEAM;
 import static com.ecore.roles.utils.TestData.ORDINARY_CORAL_LYNX_TEAM_UUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class TeamsServiceTest {
 
-    @InjectMocks
     private TeamsServiceImpl TeamsService;
     @Mock
     private TeamsClient TeamsClient;
 
+    private final CacheConfigurationProperties cacheProperties = new CacheConfigurationProperties();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties.getTeams().setTtl(Duration.ofMinutes(5));
+        cacheProperties.getTeams().setRefreshAhead(Duration.ofMinutes(5).minusNanos(1));
+        TeamsService = new TeamsServiceImpl(TeamsClient, cacheProperties, Runnable::run, meterRegistry);
+    }
+
     @Test
     void shouldGetTeamWhenTeamIdExists() {
         Team ordinaryCoralLynxTeam = ORDINARY_CORAL_LYNX_TEAM();
@@ -33,4 +49,32 @@ class TeamsServiceTest {
                         .body(ordinaryCoralLynxTeam));
         assertNotNull(TeamsService.getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID));
     }
+
+    @Test
+    void shouldServeCachedTeamWhileRefreshing() {
+        Team stale = ORDINARY_CORAL_LYNX_TEAM();
+        Team fresh = ORDINARY_CORAL_LYNX_TEAM();
+        fresh.setName("Renamed Team");
+        when(TeamsClient.getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID))
+                .thenReturn(ResponseEntity.ok(stale))
+                .thenReturn(ResponseEntity.ok(fresh));
+
+        assertEquals(stale, TeamsService.getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID));
+        assertEquals(stale, TeamsService.getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID));
+        assertEquals(fresh, TeamsService.getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID));
+    }
+
+    @Test
+    void shouldKeepCachedTeamWhenRefreshFails() {
+        Team team = ORDINARY_CORAL_LYNX_TEAM();
+        when(TeamsClient.getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID))
+                .thenReturn(ResponseEntity.ok(team))
+                .thenThrow(new ResourceAccessException("Upstream unavailable"));
+
+        TeamsService.getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID);
+        TeamsService.getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID);
+
+        assertEquals(team, TeamsService.getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID));
+        assertEquals(2.0, meterRegistry.counter("roles.cache.refresh.failures", "cache", "teams").count());
+    }
 }
@@ -2,28 +2,40 @@ package com.ecore.roles.service;
 
 import com.ecore.roles.client.UsersClient;
 import com.ecore.roles.client.model.User;
+import com.ecore.roles.configuration.CacheConfigurationProperties;
+import com.ecore.roles.service.event.ResourceChangedEvent;
 import com.ecore.roles.service.impl.UsersServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+
 import static com.ecore.roles.utils.TestData.GIANNI_USER;
 import static com.ecore.roles.utils.TestData.UUID_1;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class UsersServiceTest {
 
-    @InjectMocks
     private UsersServiceImpl usersService;
     @Mock
     private UsersClient usersClient;
 
+    @BeforeEach
+    void setUp() {
+        usersService = new UsersServiceImpl(
+                usersClient, new CacheConfigurationProperties(), Runnable::run, new SimpleMeterRegistry());
+    }
+
     @Test
     void shouldGetUserWhenUserIdExists() {
         User gianniUser = GIANNI_USER();
@@ -34,4 +46,17 @@ class UsersServiceTest {
 
         assertNotNull(usersService.getUser(UUID_1));
     }
+
+    @Test
+    void shouldReloadUserAfterChangeNotification() {
+        when(usersClient.getUser(UUID_1))
+                .thenReturn(ResponseEntity.ok(GIANNI_USER()));
+
+        usersService.getUser(UUID_1);
+        usersService.getUser(UUID_1);
+        usersService.onUsersChanged(ResourceChangedEvent.of(User.class, List.of(UUID_1)));
+        usersService.getUser(UUID_1);
+
+        verify(usersClient, times(2)).getUser(UUID_1);
+    }
 }
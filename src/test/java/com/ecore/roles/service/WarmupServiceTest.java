@@ -0,0 +1,115 @@
+package com.ecore.roles.service;
+
+import com.ecore.roles.configuration.WarmupConfigurationProperties;
+import com.ecore.roles.service.impl.WarmupServiceImpl;
+import com.ecore.roles.service.model.MembershipView;
+import com.ecore.roles.service.model.WarmupStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.ecore.roles.utils.TestData.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WarmupServiceTest {
+
+    private final WarmupConfigurationProperties properties = new WarmupConfigurationProperties();
+
+    @Mock
+    private RolesService rolesService;
+    @Mock
+    private MembershipsService membershipsService;
+    @Mock
+    private TeamsService teamsService;
+    @Mock
+    private UsersService usersService;
+    @Mock
+    private DirectoryService directoryService;
+
+    @Test
+    void shouldRunRepresentativeQueriesAndPrimeUpstreamData() {
+        MembershipView membership = mock(MembershipView.class);
+        when(membership.getTeamId()).thenReturn(ORDINARY_CORAL_LYNX_TEAM_UUID);
+        when(membership.getUserId()).thenReturn(GIANNI_USER_UUID);
+        when(rolesService.getRoles()).thenReturn(List.of(DEVELOPER_ROLE()));
+        when(membershipsService.getMemberships(DEVELOPER_ROLE_UUID, 0, properties.getSampleSize()))
+                .thenReturn(List.of(membership));
+        when(membershipsService.getMembership(ORDINARY_CORAL_LYNX_TEAM_UUID, GIANNI_USER_UUID))
+                .thenReturn(DEFAULT_MEMBERSHIP());
+        when(directoryService.getTeams()).thenThrow(new IllegalStateException("Teams API unavailable"));
+
+        WarmupServiceImpl warmupService = warmupService();
+        assertThat(warmupService.getStatus().isReady()).isFalse();
+        warmupService.warmUp();
+
+        WarmupStatus status = warmupService.getStatus();
+        assertThat(status.getState()).isEqualTo(WarmupStatus.State.COMPLETED);
+        assertThat(status.isReady()).isTrue();
+        assertThat(status.getCompletedSteps())
+                .containsExactly("roles", "memberships-by-role", "membership-lookups", "teams", "users");
+        assertThat(status.getFailedSteps()).containsExactly("directory");
+        verify(teamsService).getTeam(ORDINARY_CORAL_LYNX_TEAM_UUID);
+        verify(usersService).getUser(GIANNI_USER_UUID);
+    }
+
+    @Test
+    void shouldReportReadyWhenBudgetIsExhausted() {
+        properties.setBudget(Duration.ZERO);
+
+        WarmupServiceImpl warmupService = warmupService();
+        warmupService.warmUp();
+
+        assertThat(warmupService.getStatus().getState()).isEqualTo(WarmupStatus.State.TIMED_OUT);
+        assertThat(warmupService.getStatus().isReady()).isTrue();
+        verifyNoInteractions(rolesService);
+    }
+
+    @Test
+    void shouldReportReadyWhenBudgetRunsOutDuringStep() throws Exception {
+        properties.setBudget(Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        when(rolesService.getRoles()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        WarmupServiceImpl warmupService = warmupService();
+        CompletableFuture<Void> warmUp = CompletableFuture.runAsync(warmupService::warmUp);
+        Thread.sleep(200);
+
+        assertThat(warmupService.getStatus().getState()).isEqualTo(WarmupStatus.State.TIMED_OUT);
+        assertThat(warmupService.getStatus().isReady()).isTrue();
+        release.countDown();
+        warmUp.get(5, TimeUnit.SECONDS);
+        assertThat(warmupService.getStatus().getState()).isEqualTo(WarmupStatus.State.TIMED_OUT);
+    }
+
+    @Test
+    void shouldSkipWarmupWhenDisabled() {
+        properties.setEnabled(false);
+
+        WarmupServiceImpl warmupService = warmupService();
+        warmupService.warmUp();
+
+        assertThat(warmupService.getStatus().getState()).isEqualTo(WarmupStatus.State.DISABLED);
+        assertThat(warmupService.getStatus().isReady()).isTrue();
+        verifyNoInteractions(rolesService);
+    }
+
+    private WarmupServiceImpl warmupService() {
+        return new WarmupServiceImpl(properties, rolesService, membershipsService, teamsService, usersService,
+                directoryService, Runnable::run);
+    }
+}
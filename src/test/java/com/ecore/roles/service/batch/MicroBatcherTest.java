@@ -0,0 +1,109 @@
+package com.ecore.roles.service.batch;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MicroBatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Set<Integer>> loads = new CopyOnWriteArrayList<>();
+
+    @Test
+    void shouldCoalesceConcurrentLookups() throws Exception {
+        CountDownLatch blockerLoading = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        MicroBatcher<Integer, String> batcher = batcher(Duration.ofSeconds(5), 8, keys -> {
+            if (keys.contains(-1)) {
+                blockerLoading.countDown();
+                await(releaseBlocker);
+            }
+            return keys.stream().filter(key -> key % 2 == 0)
+                    .collect(Collectors.toMap(Function.identity(), key -> "value-" + key));
+        });
+        ExecutorService callers = Executors.newFixedThreadPool(9);
+        try {
+            CompletableFuture<String> blocker =
+                    CompletableFuture.supplyAsync(() -> batcher.load(-1), callers);
+            blockerLoading.await();
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            IntStream.range(0, 8).forEach(key -> results.add(
+                    CompletableFuture.supplyAsync(() -> batcher.load(key), callers)));
+
+            assertThat(results.stream().map(CompletableFuture::join).collect(Collectors.toList()))
+                    .containsExactly("value-0", null, "value-2", null, "value-4", null, "value-6", null);
+            releaseBlocker.countDown();
+            assertThat(blocker.join()).isNull();
+            assertThat(loads).hasSize(2);
+            assertThat(loads.get(1)).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7);
+            assertThat(meterRegistry.get("roles.batch.size").summary().max()).isEqualTo(8);
+        } finally {
+            releaseBlocker.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldNotWaitOutWindowWithoutOtherCallers() {
+        MicroBatcher<Integer, String> batcher =
+                batcher(Duration.ofSeconds(30), 8, keys -> Map.of(1, "value-1"));
+
+        long start = System.nanoTime();
+        assertThat(batcher.load(1)).isEqualTo("value-1");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldLoadAloneAfterWindow() {
+        MicroBatcher<Integer, String> batcher =
+                batcher(Duration.ofMillis(1), 8, keys -> Map.of(1, "value-1"));
+
+        assertThat(batcher.load(1)).isEqualTo("value-1");
+        assertThat(batcher.load(1)).isEqualTo("value-1");
+        assertThat(loads).containsExactly(Set.of(1), Set.of(1));
+    }
+
+    @Test
+    void shouldFailEveryCallerOfFailedBatch() {
+        MicroBatcher<Integer, String> batcher = batcher(Duration.ZERO, 8, keys -> {
+            throw new IllegalStateException("database unavailable");
+        });
+
+        assertThrows(IllegalStateException.class, () -> batcher.load(1));
+    }
+
+    private MicroBatcher<Integer, String> batcher(
+            Duration window,
+            int maxBatchSize,
+            Function<Set<Integer>, Map<Integer, String>> loader) {
+        return new MicroBatcher<>("test", window, maxBatchSize, keys -> {
+            loads.add(Set.copyOf(keys));
+            return loader.apply(keys);
+        }, meterRegistry);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
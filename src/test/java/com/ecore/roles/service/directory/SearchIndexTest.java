@@ -0,0 +1,58 @@
+package com.ecore.roles.service.directory;
+
+import com.ecore.roles.client.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ecore.roles.utils.TestData.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTest {
+
+    private SearchIndex<User> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex<>(
+                User::getId,
+                user -> Arrays.asList(user.getDisplayName(), user.getFirstName(), user.getLastName()),
+                User::getDisplayName);
+        index.putAll(List.of(
+                GIANNI_USER(),
+                user(UUID_1, "gillianWest", "Gillian", "West"),
+                user(UUID_2, "harveyDent", "Harvey", "Dent")));
+    }
+
+    @Test
+    void shouldMatchEveryTermAsWordPrefix() {
+        assertThat(index.search("gi", 10)).extracting(User::getDisplayName)
+                .containsExactly("gianniWehner", "gillianWest");
+        assertThat(index.search("Gianni Weh", 10)).extracting(User::getId)
+                .containsExactly(GIANNI_USER_UUID);
+        assertThat(index.search("gi", 1)).hasSize(1);
+    }
+
+    @Test
+    void shouldFallBackToTrigramMatchesForTypos() {
+        assertThat(index.search("harvy", 10)).extracting(User::getId).containsExactly(UUID_2);
+    }
+
+    @Test
+    void shouldFollowUpdatesAndRemovals() {
+        index.put(user(UUID_2, "harveyTwoFace", "Harvey", "TwoFace"));
+        index.remove(UUID_1);
+
+        assertThat(index.search("dent", 10)).isEmpty();
+        assertThat(index.search("twoface", 10)).extracting(User::getId).containsExactly(UUID_2);
+        assertThat(index.search("gillian", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private static User user(UUID id, String displayName, String firstName, String lastName) {
+        return User.builder().id(id).displayName(displayName).firstName(firstName).lastName(lastName).build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecore.roles.service.directory;
+
+import com.ecore.roles.client.model.Team;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ecore.roles.utils.TestData.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeamMembershipIndexTest {
+
+    private final TeamMembershipIndex index = new TeamMembershipIndex();
+
+    @Test
+    void shouldMapLeadAndMembersToTheirTeams() {
+        Team otherTeam =
+                Team.builder().id(UUID_4).teamLeadId(GIANNI_USER_UUID).teamMemberIds(List.of()).build();
+
+        index.put(ORDINARY_CORAL_LYNX_TEAM());
+        index.put(otherTeam);
+
+        assertThat(teamIds(GIANNI_USER_UUID)).containsExactlyInAnyOrder(
+                ORDINARY_CORAL_LYNX_TEAM_UUID, UUID_4);
+        assertThat(teamIds(UUID_1)).containsExactly(ORDINARY_CORAL_LYNX_TEAM_UUID);
+    }
+
+    @Test
+    void shouldFollowTeamChangesAndRemovals() {
+        Team team = ORDINARY_CORAL_LYNX_TEAM();
+        index.put(team);
+
+        team.setTeamMemberIds(List.of(UUID_2));
+        index.put(team);
+        assertThat(teamIds(GIANNI_USER_UUID)).isEmpty();
+        assertThat(teamIds(UUID_2)).containsExactly(ORDINARY_CORAL_LYNX_TEAM_UUID);
+
+        index.remove(ORDINARY_CORAL_LYNX_TEAM_UUID);
+        assertThat(teamIds(UUID_1)).isEmpty();
+        assertThat(teamIds(UUID_2)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepServingPublishedTeamIdsWhileTheyChange() {
+        Team otherTeam = Team.builder().id(UUID_4).teamLeadId(UUID_1).teamMemberIds(List.of()).build();
+        index.update(List.of(), List.of(ORDINARY_CORAL_LYNX_TEAM(), otherTeam));
+        List<UUID> seen = new ArrayList<>();
+
+        index.forEachTeamId(UUID_1, teamId -> {
+            index.update(List.of(ORDINARY_CORAL_LYNX_TEAM_UUID, UUID_4), List.of());
+            seen.add(teamId);
+        });
+
+        assertThat(seen).containsExactlyInAnyOrder(ORDINARY_CORAL_LYNX_TEAM_UUID, UUID_4);
+        assertThat(teamIds(UUID_1)).isEmpty();
+        assertThat(index.contains(UUID_1, UUID_4)).isFalse();
+    }
+
+    private List<UUID> teamIds(UUID userId) {
+        List<UUID> teamIds = new ArrayList<>();
+        index.forEachTeamId(userId, teamIds::add);
+        return teamIds;
+    }
+}
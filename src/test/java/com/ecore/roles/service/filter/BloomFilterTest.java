@@ -0,0 +1,42 @@
+package com.ecore.roles.service.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void shouldHaveNoFalseNegativesAndStayNearConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01, Long.MAX_VALUE);
+        SplittableRandom added = new SplittableRandom(1);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(added.nextLong(), added.nextLong());
+        }
+
+        SplittableRandom replay = new SplittableRandom(1);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain(replay.nextLong(), replay.nextLong())).isTrue();
+        }
+        SplittableRandom absent = new SplittableRandom(2);
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(absent.nextLong(), absent.nextLong())) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.02);
+        assertThat(filter.approximateSize()).isBetween(9_500L, 10_500L);
+    }
+
+    @Test
+    void shouldCapMemory() {
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01, 8 * 1024 * 8);
+
+        assertThat(filter.bitSize()).isEqualTo(8 * 1024 * 8);
+        assertThat(filter.hashCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecore.roles.service.impl;
+
+import com.ecore.roles.configuration.CacheConfigurationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void shouldExpireValueWhenRefreshKeepsFailing() {
+        AtomicReference<String> upstream = new AtomicReference<>("first");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UpstreamCache<String> cache = new UpstreamCache<>("teams", new CacheConfigurationProperties.Spec(),
+                Runnable::run, meterRegistry, nanos::get, id -> {
+                    if (upstream.get() == null) {
+                        throw new IllegalStateException("Upstream unavailable");
+                    }
+                    return upstream.get();
+                });
+        UUID id = UUID.randomUUID();
+
+        assertThat(cache.get(id)).isEqualTo("first");
+
+        upstream.set(null);
+        advance(Duration.ofSeconds(270));
+        assertThat(cache.get(id)).isEqualTo("first");
+        assertThat(meterRegistry.counter("roles.cache.refresh.failures", "cache", "teams").count())
+                .isEqualTo(1);
+
+        upstream.set("second");
+        advance(Duration.ofSeconds(60));
+        assertThat(cache.get(id)).isEqualTo("second");
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
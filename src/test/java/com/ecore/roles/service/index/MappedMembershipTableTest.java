@@ -0,0 +1,82 @@
+package com.ecore.roles.service.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedMembershipTableTest {
+
+    private static final long SOURCE = 42;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldResolveStoredPairsAndReuseTheFileOnReopen() throws IOException {
+        Path path = directory.resolve("index.bin");
+        MappedMembershipTable table = MappedMembershipTable.create(path, 100, 8, SOURCE);
+        UUID roleId = UUID.randomUUID();
+        int ordinal = table.addRole(roleId);
+        UUID[][] pairs = new UUID[50][];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = new UUID[] {UUID.randomUUID(), UUID.randomUUID()};
+            assertThat(table.put(pairs[i][0], pairs[i][1], ordinal)).isTrue();
+        }
+        table.force();
+
+        MappedMembershipTable reopened = MappedMembershipTable.open(path, 100, 8, SOURCE);
+
+        assertThat(reopened.capacity()).isEqualTo(128);
+        assertThat(reopened.size()).isEqualTo(pairs.length);
+        assertThat(reopened.roleAt(ordinal)).isEqualTo(roleId);
+        for (UUID[] pair : pairs) {
+            assertThat(reopened.get(pair[0], pair[1])).isEqualTo(ordinal);
+        }
+        assertThat(reopened.get(pairs[0][1], pairs[0][0])).isZero();
+        assertThat(MappedMembershipTable.open(path, 100, 16, SOURCE).size()).isZero();
+    }
+
+    @Test
+    void shouldDiscardFileReadFromAnotherSource() throws IOException {
+        Path path = directory.resolve("index.bin");
+        MappedMembershipTable table = MappedMembershipTable.create(path, 16, 2, SOURCE);
+        table.put(UUID.randomUUID(), UUID.randomUUID(), table.addRole(UUID.randomUUID()));
+        table.setWatermark(1);
+        table.force();
+
+        MappedMembershipTable reopened = MappedMembershipTable.open(path, 16, 2, SOURCE + 1);
+
+        assertThat(reopened.size()).isZero();
+        assertThat(reopened.roleCount()).isZero();
+        assertThat(reopened.watermark()).isZero();
+        assertThat(reopened.source()).isEqualTo(SOURCE + 1);
+    }
+
+    @Test
+    void shouldRefuseNewPairsPastLoadFactorUntilCopiedToALargerTable() throws IOException {
+        MappedMembershipTable table =
+                MappedMembershipTable.create(directory.resolve("small.bin"), 16, 2, SOURCE);
+        int ordinal = table.addRole(UUID.randomUUID());
+        UUID teamId = UUID.randomUUID();
+        int stored = 0;
+        while (table.put(teamId, UUID.randomUUID(), ordinal)) {
+            stored++;
+        }
+        assertThat(stored).isEqualTo(12);
+        assertThat(table.addRole(UUID.randomUUID())).isEqualTo(2);
+        assertThat(table.addRole(UUID.randomUUID())).isZero();
+
+        MappedMembershipTable grown =
+                MappedMembershipTable.create(directory.resolve("large.bin"), 32, 2, SOURCE);
+        table.copyTo(grown);
+
+        assertThat(grown.size()).isEqualTo(12);
+        assertThat(grown.roleCount()).isEqualTo(2);
+        assertThat(grown.put(teamId, UUID.randomUUID(), ordinal)).isTrue();
+    }
+}
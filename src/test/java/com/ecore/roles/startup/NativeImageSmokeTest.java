@@ -0,0 +1,134 @@
+package com.ecore.roles.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static com.ecore.roles.utils.RestAssuredHelper.createMembership;
+import static com.ecore.roles.utils.RestAssuredHelper.createRole;
+import static com.ecore.roles.utils.RestAssuredHelper.getMemberships;
+import static com.ecore.roles.utils.RestAssuredHelper.getRoles;
+import static com.ecore.roles.utils.RestAssuredHelper.setUp;
+import static com.ecore.roles.utils.TestData.DEFAULT_MEMBERSHIP;
+import static com.ecore.roles.utils.TestData.DEVELOPER_ROLE_UUID;
+import static com.ecore.roles.utils.TestData.DEVOPS_ROLE;
+import static com.ecore.roles.utils.TestData.GIANNI_USER;
+import static com.ecore.roles.utils.TestData.GIANNI_USER_UUID;
+import static com.ecore.roles.utils.TestData.ORDINARY_CORAL_LYNX_TEAM;
+import static com.ecore.roles.utils.TestData.ORDINARY_CORAL_LYNX_TEAM_UUID;
+import static io.restassured.RestAssured.when;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+
+/**
+ * Runs the native executable against stubbed Teams and Users APIs and calls every REST controller
+ * once. Run with {@code mvn verify -Pnative}, which builds {@code target/roles-api} first.
+ */
+@Tag("native")
+class NativeImageSmokeTest {
+
+    private static final Duration BUDGET = Duration.ofMillis(Long.getLong("native.budget.ms", 10_000));
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static HttpServer upstream;
+    private static Process application;
+
+    @BeforeAll
+    static void start() throws Exception {
+        Path binary = Paths.get(System.getProperty("native.binary", "target/roles-api"));
+        assertThat(Files.isExecutable(binary)).as("native binary %s", binary).isTrue();
+
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.createContext("/teams/" + ORDINARY_CORAL_LYNX_TEAM_UUID,
+                exchange -> respond(exchange, ORDINARY_CORAL_LYNX_TEAM()));
+        upstream.createContext("/users/" + GIANNI_USER_UUID, exchange -> respond(exchange, GIANNI_USER()));
+        upstream.start();
+        String upstreamHost = "http://localhost:" + upstream.getAddress().getPort();
+
+        int port = freePort();
+        application = new ProcessBuilder(binary.toString(),
+                "--server.port=" + port,
+                "--clients.teams-api-host=" + upstreamHost + "/teams",
+                "--clients.users-api-host=" + upstreamHost + "/users")
+                        .redirectErrorStream(true)
+                        .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+        long started = System.nanoTime();
+        while (!isUp(port)) {
+            assertThat(application.isAlive()).as("application exited before becoming ready").isTrue();
+            assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(BUDGET);
+            Thread.sleep(20);
+        }
+        setUp(port);
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        if (application != null) {
+            application.destroy();
+            application.waitFor();
+        }
+        if (upstream != null) {
+            upstream.stop(0);
+        }
+    }
+
+    @Test
+    void shouldServeAllControllers() {
+        createRole(DEVOPS_ROLE()).statusCode(201);
+        getRoles().statusCode(200).body("name", hasItem("DevOps"));
+
+        when().get("/v1/teams/{id}", ORDINARY_CORAL_LYNX_TEAM_UUID)
+                .then().statusCode(200).body("name", equalTo("System Team"));
+        when().get("/v1/users/{id}", GIANNI_USER_UUID)
+                .then().statusCode(200).body("displayName", equalTo("gianniWehner"));
+
+        createMembership(DEFAULT_MEMBERSHIP()).statusCode(201);
+        getMemberships(DEVELOPER_ROLE_UUID).statusCode(200)
+                .body("teamMemberId", hasItem(GIANNI_USER_UUID.toString()));
+    }
+
+    private static void respond(HttpExchange exchange, Object body) throws IOException {
+        byte[] json = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+
+    private static boolean isUp(int port) {
+        try {
+            HttpURLConnection connection =
+                    (HttpURLConnection) new URL("http://localhost:" + port + "/actuator/health/liveness")
+                            .openConnection();
+            connection.setConnectTimeout(100);
+            connection.setReadTimeout(1000);
+            return connection.getResponseCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
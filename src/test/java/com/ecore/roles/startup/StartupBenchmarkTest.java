@@ -0,0 +1,121 @@
+package com.ecore.roles.startup;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application in a fresh JVM and records the time until
+ * {@code /actuator/health/readiness} reports UP, with and without the fast-start profile. Readiness
+ * waits for warmup, so it is when traffic can be routed to the instance; the earlier liveness time
+ * is recorded next to it. Run with {@code mvn test -Pstartup-benchmark}.
+ */
+@Tag("startup")
+class StartupBenchmarkTest {
+
+    private static final Duration BUDGET = Duration.ofMillis(Long.getLong("startup.budget.ms", 60_000));
+    private static final Path REPORT = Paths.get("target", "startup-benchmark.properties");
+    private static final Path MAIN_CONFIG = Paths.get("src", "main", "resources").toAbsolutePath();
+
+    @Test
+    void shouldRecordTimeToReady() throws Exception {
+        Properties report = new Properties();
+        Startup defaults = start();
+        Startup fastStart = start("--spring.profiles.active=fast-start");
+        defaults.record(report, "default");
+        fastStart.record(report, "fast-start");
+        Files.createDirectories(REPORT.getParent());
+        try (var writer = Files.newBufferedWriter(REPORT, StandardCharsets.UTF_8)) {
+            report.store(writer, "Time until /actuator/health/readiness reports UP, and liveness before it");
+        }
+
+        assertThat(fastStart.ready).isLessThan(BUDGET);
+    }
+
+    private static Startup start(String... arguments) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                "com.ecore.roles.RolesApplication",
+                // The test application.yml shadows the production one on this class path.
+                "--spring.config.location=" + MAIN_CONFIG.toUri(),
+                "--server.port=" + port));
+        command.addAll(List.of(arguments));
+
+        long started = System.nanoTime();
+        Process application = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            Duration live = null;
+            while (true) {
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+                if (live == null && isUp(port, "liveness")) {
+                    live = elapsed;
+                }
+                if (live != null && isUp(port, "readiness")) {
+                    return new Startup(live, elapsed);
+                }
+                assertThat(application.isAlive()).as("application exited before becoming ready").isTrue();
+                assertThat(elapsed).isLessThan(BUDGET.multipliedBy(2));
+                Thread.sleep(20);
+            }
+        } finally {
+            application.destroy();
+            application.waitFor();
+        }
+    }
+
+    private static boolean isUp(int port, String probe) {
+        try {
+            HttpURLConnection connection =
+                    (HttpURLConnection) new URL("http://localhost:" + port + "/actuator/health/" + probe)
+                            .openConnection();
+            connection.setConnectTimeout(100);
+            connection.setReadTimeout(1000);
+            return connection.getResponseCode() == 200
+                    && new String(connection.getInputStream().readAllBytes(), StandardCharsets.UTF_8)
+                            .contains("\"UP\"");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static class Startup {
+
+        private final Duration live;
+        private final Duration ready;
+
+        Startup(Duration live, Duration ready) {
+            this.live = live;
+            this.ready = ready;
+        }
+
+        void record(Properties report, String name) {
+            report.setProperty(name + ".ms", Long.toString(ready.toMillis()));
+            report.setProperty(name + ".liveness.ms", Long.toString(live.toMillis()));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecore.roles.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidObjectMapTest {
+
+    @Test
+    void shouldBehaveLikeHashMapAcrossGrowthAndRemovals() {
+        Random random = new Random(11);
+        UUID[] pool = new UUID[1_000];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = i == 0 ? new UUID(0, 0) : new UUID(random.nextLong(), random.nextInt(16));
+        }
+        UuidObjectMap<Integer> map = new UuidObjectMap<>(0);
+        Map<UUID, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            UUID key = pool[random.nextInt(pool.length)];
+            if (random.nextInt(4) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                assertThat(map.put(key, i)).isEqualTo(expected.put(key, i));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        Map<UUID, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertThat(actual).isEqualTo(expected);
+        for (UUID key : pool) {
+            assertThat(map.get(key)).isEqualTo(expected.get(key));
+        }
+    }
+
+    @Test
+    void shouldCopyIndependentlyOfTheOriginal() {
+        UUID kept = UUID.randomUUID();
+        UUID removed = UUID.randomUUID();
+        UuidObjectMap<String> original = new UuidObjectMap<>();
+        original.put(kept, "kept");
+        original.put(removed, "removed");
+        original.put(new UUID(0, 0), "nil");
+
+        UuidObjectMap<String> copy = new UuidObjectMap<>(original);
+        copy.remove(removed);
+        copy.put(kept, "changed");
+        for (int i = 0; i < 100; i++) {
+            copy.put(UUID.randomUUID(), "added");
+        }
+
+        assertThat(original.size()).isEqualTo(3);
+        assertThat(original.get(kept)).isEqualTo("kept");
+        assertThat(original.get(removed)).isEqualTo("removed");
+        assertThat(copy.size()).isEqualTo(102);
+        assertThat(copy.get(new UUID(0, 0))).isEqualTo("nil");
+        assertThat(copy.get(kept)).isEqualTo("changed");
+    }
+
+    @Test
+    void shouldCountWithUnboxedValues() {
+        UuidIntMap counts = new UuidIntMap();
+        UUID key = UUID.randomUUID();
+
+        counts.addTo(key, 1);
+        counts.addTo(key, 2);
+        counts.put(new UUID(0, 0), 5);
+
+        assertThat(counts.getOrDefault(key, 0)).isEqualTo(3);
+        assertThat(counts.getOrDefault(new UUID(0, 0), 0)).isEqualTo(5);
+        assertThat(counts.getOrDefault(UUID.randomUUID(), -1)).isEqualTo(-1);
+        assertThat(counts.remove(key)).isTrue();
+        assertThat(counts.containsKey(key)).isFalse();
+        assertThat(counts.size()).isEqualTo(1);
+    }
+}
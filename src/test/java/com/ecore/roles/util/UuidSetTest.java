@@ -0,0 +1,52 @@
+package com.ecore.roles.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidSetTest {
+
+    @Test
+    void shouldBehaveLikeHashSetUnderRandomAddsAndRemoves() {
+        Random random = new Random(7);
+        UUID[] pool = new UUID[2_000];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = i == 0 ? new UUID(0, 0) : new UUID(random.nextInt(64), random.nextLong());
+        }
+        UuidSet set = new UuidSet(0);
+        Set<UUID> expected = new HashSet<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            UUID id = pool[random.nextInt(pool.length)];
+            if (random.nextInt(3) == 0) {
+                assertThat(set.remove(id)).isEqualTo(expected.remove(id));
+            } else {
+                assertThat(set.add(id)).isEqualTo(expected.add(id));
+            }
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+        assertThat(set.toSet()).isEqualTo(expected);
+        for (UUID id : pool) {
+            assertThat(set.contains(id)).isEqualTo(expected.contains(id));
+        }
+    }
+
+    @Test
+    void shouldRetainOnlyElementsOfTheOtherSet() {
+        UUID shared = UUID.randomUUID();
+        UuidSet set = UuidSet.copyOf(List.of(shared, UUID.randomUUID(), new UUID(0, 0)));
+
+        assertThat(set.retainAll(UuidSet.copyOf(List.of(shared, UUID.randomUUID())))).isTrue();
+        assertThat(set.toSet()).containsExactly(shared);
+        assertThat(set.retainAll(UuidSet.copyOf(List.of(shared)))).isFalse();
+        set.add(UUID.randomUUID());
+        assertThat(set.size()).isEqualTo(2);
+    }
+}
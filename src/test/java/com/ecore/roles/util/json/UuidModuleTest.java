@@ -0,0 +1,58 @@
+package com.ecore.roles.util.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UuidModuleTest {
+
+    private static final TypeReference<List<UUID>> UUIDS = new TypeReference<>() {};
+
+    private final ObjectMapper tuned = new ObjectMapper().registerModule(new UuidModule());
+    private final ObjectMapper standard = new ObjectMapper();
+
+    @Test
+    void shouldWriteAndReadTheSameTextAsJackson() throws Exception {
+        SplittableRandom random = new SplittableRandom(3);
+        List<UUID> ids = new ArrayList<>(List.of(new UUID(0, 0), new UUID(-1, -1)));
+        for (int i = 0; i < 1_000; i++) {
+            ids.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+
+        String json = tuned.writeValueAsString(ids);
+
+        assertThat(json).isEqualTo(standard.writeValueAsString(ids));
+        assertThat(tuned.readValue(json, UUIDS)).isEqualTo(ids);
+        assertThat(tuned.readValue(json.toUpperCase(), UUIDS)).isEqualTo(ids);
+        assertThat(tuned.writeValueAsBytes(ids)).isEqualTo(standard.writeValueAsBytes(ids));
+    }
+
+    @Test
+    void shouldKeepBinaryUuidsForSmile() throws Exception {
+        ObjectMapper tunedSmile = new ObjectMapper(new SmileFactory()).registerModule(new UuidModule());
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        byte[] smile = tunedSmile.writeValueAsBytes(ids);
+
+        assertThat(smile).isEqualTo(new ObjectMapper(new SmileFactory()).writeValueAsBytes(ids));
+        assertThat(tunedSmile.readValue(smile, UUIDS)).isEqualTo(ids);
+    }
+
+    @Test
+    void shouldRejectMalformedUuidsLikeJackson() {
+        assertThrows(InvalidFormatException.class,
+                () -> tuned.readValue("[\"0000000g-0000-0000-0000-000000000000\"]", UUIDS));
+        assertThrows(InvalidFormatException.class,
+                () -> tuned.readValue("[\"00000000+0000-0000-0000-000000000000\"]", UUIDS));
+    }
+}
@@ -2,6 +2,7 @@ package com.ecore.roles.utils;
 
 import com.ecore.roles.service.model.Membership;
 import com.ecore.roles.service.model.Role;
+import com.ecore.roles.web.dto.CacheInvalidationDto;
 import com.ecore.roles.web.dto.MembershipDto;
 import com.ecore.roles.web.dto.RoleDto;
 import io.restassured.RestAssured;
@@ -38,12 +39,29 @@ public class RestAssuredHelper {
                 .then());
     }
 
+    public static EcoreValidatableResponse createRole(Role role, String idempotencyKey) {
+        return sendRequest(givenNullableBody(RoleDto.fromModel(role))
+                .contentType(JSON)
+                .header("Idempotency-Key", idempotencyKey)
+                .when()
+                .post("/v1/roles")
+                .then());
+    }
+
     public static EcoreValidatableResponse getRoles() {
         return sendRequest(when()
                 .get("/v1/roles")
                 .then());
     }
 
+    public static EcoreValidatableResponse getRoles(String accept) {
+        return sendRequest(given()
+                .accept(accept)
+                .when()
+                .get("/v1/roles")
+                .then());
+    }
+
     public static EcoreValidatableResponse getRole(UUID roleId) {
         return sendRequest(given()
                 .pathParam("roleId", roleId)
@@ -77,6 +95,35 @@ public class RestAssuredHelper {
                 .then());
     }
 
+    public static EcoreValidatableResponse getMemberships(UUID roleId, int page, int size) {
+        return sendRequest(given()
+                .pathParam("roleId", roleId)
+                .queryParam("page", page)
+                .queryParam("size", size)
+                .when()
+                .get("/v1/memberships/role/{roleId}")
+                .then());
+    }
+
+    public static EcoreValidatableResponse getTeam(UUID teamId) {
+        return sendRequest(given()
+                .pathParam("teamId", teamId)
+                .when()
+                .get("/v1/teams/{teamId}")
+                .then());
+    }
+
+    public static EcoreValidatableResponse invalidateCache(String token, CacheInvalidationDto invalidation) {
+        RequestSpecification request = givenNullableBody(invalidation).contentType(JSON);
+        if (token != null) {
+            request = request.header("X-Webhook-Token", token);
+        }
+        return sendRequest(request
+                .when()
+                .post("/v1/cache-invalidations")
+                .then());
+    }
+
     private static RequestSpecification givenNullableBody(Object object) {
         RequestSpecification requestSpecification = given();
         if (object != null) {
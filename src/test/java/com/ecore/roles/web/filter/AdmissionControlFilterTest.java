@@ -0,0 +1,41 @@
+package com.ecore.roles.web.filter;
+
+import com.ecore.roles.configuration.AdmissionControlConfigurationProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    @Test
+    void shouldShedRequestsOverConcurrencyLimit() throws Exception {
+        AdmissionControlConfigurationProperties properties = new AdmissionControlConfigurationProperties();
+        properties.setMaxConcurrentRequests(1);
+        properties.setMaxQueueWait(Duration.ZERO);
+        AdmissionControlFilter filter =
+                new AdmissionControlFilter(properties, new ObjectMapper(), new SimpleMeterRegistry());
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        FilterChain whileInFlight = (request, response) -> filter.doFilter(
+                new MockHttpServletRequest("GET", "/v1/roles"), nested, new MockFilterChain());
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/roles"), admitted, whileInFlight);
+
+        assertThat(admitted.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(nested.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(nested.getHeader("Retry-After")).isEqualTo("1");
+
+        MockHttpServletResponse afterwards = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/roles"), afterwards, new MockFilterChain());
+        assertThat(afterwards.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+}
@@ -0,0 +1,185 @@
+package com.ecore.roles.web.filter;
+
+import com.ecore.roles.configuration.IdempotencyConfigurationProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"name\":\"DevOps\"}";
+
+    private final AtomicInteger invocations = new AtomicInteger();
+    private volatile int status = 201;
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private final FilterChain controller = (request, response) -> {
+        invocations.incrementAndGet();
+        String body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ((HttpServletResponse) response).setStatus(status);
+        response.setContentType("application/json");
+        response.getOutputStream().write((body + invocations.get()).getBytes(StandardCharsets.UTF_8));
+    };
+
+    private final IdempotencyConfigurationProperties properties = new IdempotencyConfigurationProperties();
+
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        filter = new IdempotencyFilter(properties, new IdempotencyStore(properties, meterRegistry),
+                new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void shouldReplayFirstResponseToRetries() throws Exception {
+        MockHttpServletResponse first = post("/v1/roles", "key-1", BODY);
+        MockHttpServletResponse retry = post("/v1/roles", "key-1", BODY);
+
+        assertThat(invocations).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo(BODY + 1);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void shouldWaitForOriginalWhenDuplicateArrivesInFlight() throws Exception {
+        release = new CountDownLatch(1);
+        CompletableFuture<MockHttpServletResponse> original =
+                CompletableFuture.supplyAsync(() -> postUnchecked("key-2"));
+        while (invocations.get() == 0) {
+            Thread.onSpinWait();
+        }
+        CompletableFuture<MockHttpServletResponse> duplicate =
+                CompletableFuture.supplyAsync(() -> postUnchecked("key-2"));
+        release.countDown();
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).getContentAsString())
+                .isEqualTo(original.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertThat(invocations).hasValue(1);
+    }
+
+    @Test
+    void shouldRejectKeyReusedWithDifferentBody() throws Exception {
+        post("/v1/roles", "key-3", BODY);
+        MockHttpServletResponse response = post("/v1/roles", "key-3", "{\"name\":\"Other\"}");
+
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(invocations).hasValue(1);
+    }
+
+    @Test
+    void shouldExecuteAgainAfterServerError() throws Exception {
+        status = 500;
+        post("/v1/memberships", "key-4", BODY);
+        status = 201;
+        MockHttpServletResponse retry = post("/v1/memberships", "key-4", BODY);
+
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(invocations).hasValue(2);
+    }
+
+    @Test
+    void shouldIgnoreRequestsWithoutKey() throws Exception {
+        post("/v1/roles", null, BODY);
+        post("/v1/roles", null, BODY);
+
+        assertThat(invocations).hasValue(2);
+    }
+
+    @Test
+    void shouldScopeKeysToClientAddress() throws Exception {
+        post("/v1/roles", "key-5", BODY, "10.0.0.1");
+        MockHttpServletResponse other = post("/v1/roles", "key-5", BODY, "10.0.0.2");
+
+        assertThat(other.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(invocations).hasValue(2);
+    }
+
+    @Test
+    void shouldScopeKeysToBodyWhenClientAddressIsNotTrusted() throws Exception {
+        properties.setScopeToClientAddress(false);
+        post("/v1/roles", "key-6", BODY, "10.0.0.1");
+        MockHttpServletResponse retry = post("/v1/roles", "key-6", BODY, "10.0.0.2");
+        MockHttpServletResponse other = post("/v1/roles", "key-6", "{\"name\":\"Other\"}", "10.0.0.3");
+
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(other.getStatus()).isEqualTo(201);
+        assertThat(other.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(invocations).hasValue(2);
+    }
+
+    @Test
+    void shouldReportBufferedBodyAsFullyRead() throws Exception {
+        ServletInputStream input = new CachedBodyRequest(new MockHttpServletRequest(), new byte[0])
+                .getInputStream();
+        AtomicInteger allDataRead = new AtomicInteger();
+
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() {}
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead.incrementAndGet();
+            }
+
+            @Override
+            public void onError(Throwable t) {}
+        });
+
+        assertThat(allDataRead).hasValue(1);
+    }
+
+    private MockHttpServletResponse postUnchecked(String idempotencyKey) {
+        try {
+            return post("/v1/roles", idempotencyKey, BODY);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MockHttpServletResponse post(String path, String idempotencyKey, String body) throws Exception {
+        return post(path, idempotencyKey, body, "127.0.0.1");
+    }
+
+    private MockHttpServletResponse post(
+            String path,
+            String idempotencyKey,
+            String body,
+            String remoteAddress)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(remoteAddress);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (idempotencyKey != null) {
+            request.addHeader("Idempotency-Key", idempotencyKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecore.roles.web.filter;
+
+import com.ecore.roles.configuration.RateLimitConfigurationProperties;
+import com.ecore.roles.configuration.RateLimitConfigurationProperties.Budget;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitConfigurationProperties properties = new RateLimitConfigurationProperties();
+        properties.setRead(new Budget(3, 0.001));
+        properties.setWrite(new Budget(1, 0.001));
+        filter = new RateLimitFilter(properties, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldRejectWritesOverBudgetWithRetryAfter() throws Exception {
+        assertThat(send("POST", "10.0.0.1", null).getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        MockHttpServletResponse rejected = send("POST", "10.0.0.1", null);
+
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(Long.parseLong(rejected.getHeader(HttpHeaders.RETRY_AFTER))).isPositive();
+        assertThat(rejected.getContentAsString()).contains("\"status\":429", "Too many requests");
+    }
+
+    @Test
+    void shouldKeepSeparateReadAndWriteBudgets() throws Exception {
+        send("POST", "10.0.0.2", null);
+
+        assertThat(send("GET", "10.0.0.2", null).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(send("GET", "10.0.0.2", null).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(send("GET", "10.0.0.2", null).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(send("GET", "10.0.0.2", null).getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void shouldLimitApiKeyAcrossAddresses() throws Exception {
+        send("POST", "10.0.0.3", "first");
+
+        assertThat(send("POST", "10.0.0.4", "second").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(send("POST", "10.0.0.5", "first").getStatus())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void shouldNotResetBudgetForFreshApiKey() throws Exception {
+        send("POST", "10.0.0.6", "first");
+
+        assertThat(send("POST", "10.0.0.6", "second").getStatus())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void shouldNotSpendAddressBudgetWhenApiKeyIsOverBudget() throws Exception {
+        send("GET", "10.0.0.7", "shared");
+        send("GET", "10.0.0.7", "shared");
+        send("GET", "10.0.0.7", "shared");
+
+        assertThat(send("GET", "10.0.0.8", "shared").getStatus())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(send("GET", "10.0.0.8", null).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(send("GET", "10.0.0.8", null).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(send("GET", "10.0.0.8", null).getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    private MockHttpServletResponse send(String method, String remoteAddress, String apiKey)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/v1/memberships");
+        request.setRemoteAddr(remoteAddress);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
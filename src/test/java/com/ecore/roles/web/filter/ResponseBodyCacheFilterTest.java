@@ -0,0 +1,99 @@
+package com.ecore.roles.web.filter;
+
+import com.ecore.roles.configuration.ResponseCacheConfigurationProperties;
+import com.ecore.roles.service.event.ResourceChangedEvent;
+import com.ecore.roles.service.model.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseBodyCacheFilterTest {
+
+    private static final String BODY =
+            "[{\"id\":\"1b3c333b-36e7-4b64-aa15-c22ed5908ce4\",\"name\":\"Developer\"}]";
+
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final FilterChain controller = (request, response) -> {
+        invocations.incrementAndGet();
+        response.setContentType("application/json");
+        ((HttpServletResponse) response).setHeader("X-Next-Cursor", "next");
+        response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+    };
+
+    private ResponseBodyCache cache;
+    private ResponseBodyCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheConfigurationProperties properties = new ResponseCacheConfigurationProperties();
+        properties.setPrecompressMinSize(DataSize.ofBytes(0));
+        cache = new ResponseBodyCache(properties, new SimpleMeterRegistry());
+        filter = new ResponseBodyCacheFilter(cache);
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() throws Exception {
+        MockHttpServletResponse first = get("/v1/roles", null);
+        MockHttpServletResponse second = get("/v1/roles", null);
+
+        assertThat(invocations).hasValue(1);
+        assertThat(first.getContentAsString()).isEqualTo(BODY);
+        assertThat(second.getContentAsString()).isEqualTo(BODY);
+        assertThat(second.getContentType()).isEqualTo("application/json");
+        assertThat(second.getHeader("X-Next-Cursor")).isEqualTo("next");
+    }
+
+    @Test
+    void shouldServePrecompressedBodyWhenGzipAccepted() throws Exception {
+        get("/v1/roles", null);
+        MockHttpServletResponse response = get("/v1/roles", "gzip, deflate");
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        try (GZIPInputStream gzip =
+                new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+        }
+    }
+
+    @Test
+    void shouldRecomputeBodyAfterResourceChanged() throws Exception {
+        get("/v1/roles", null);
+        get("/v1/teams", null);
+
+        cache.onResourceChanged(ResourceChangedEvent.all(Role.class));
+        get("/v1/roles", null);
+        get("/v1/teams", null);
+
+        assertThat(invocations).hasValue(3);
+    }
+
+    @Test
+    void shouldNotCacheOtherEndpoints() throws Exception {
+        get("/v1/roles/search", null);
+        get("/v1/roles/search", null);
+
+        assertThat(invocations).hasValue(2);
+    }
+
+    private MockHttpServletResponse get(String path, String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+}